@@ -0,0 +1,49 @@
+package com.matawan.teamservice.configuration;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * CBOR and Smile, the binary encodings of the JSON data model, served to the clients that ask for them
+ * with {@code Accept} and read from the bodies sent with their {@code Content-Type}. They serialise the
+ * same DTOs as JSON, with the same mapper settings, so only the encoding differs.
+ * <p>
+ * These converters replace the ones Spring MVC registers by default, whose mappers would not follow the
+ * {@code spring.jackson.*} settings, and keep their place after the JSON converter, so JSON stays the
+ * default for clients accepting anything.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BinaryFormatConfig {
+
+    /**
+     * The media type of Smile, as registered by Jackson.
+     */
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    /**
+     * The media type of a sequence of CBOR items, one per team, the binary counterpart of NDJSON.
+     */
+    public static final MediaType APPLICATION_CBOR_SEQ = new MediaType("application", "cbor-seq");
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    public static final String APPLICATION_CBOR_SEQ_VALUE = "application/cbor-seq";
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,39 @@
+package com.matawan.teamservice.configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.matawan.teamservice.dtos.response.SerializedTeam;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caffeine caches, sized and expired through their specification. The caches are transaction aware:
+ * puts and evictions made inside a transaction are only applied once it commits.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String TEAMS_CACHE = "teams";
+
+    /**
+     * The serialised teams, weighed by their size in bytes.
+     */
+    public static final String TEAM_JSON_CACHE = "teamJson";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${teamservice.cache.teams.spec}") String teamsCacheSpec,
+                                     @Value("${teamservice.cache.team-json.spec}") String teamJsonCacheSpec) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(TEAMS_CACHE);
+        caffeineCacheManager.setCacheSpecification(teamsCacheSpec);
+        caffeineCacheManager.setAllowNullValues(false);
+        caffeineCacheManager.registerCustomCache(TEAM_JSON_CACHE, Caffeine.from(teamJsonCacheSpec)
+                .weigher((Object id, Object team) -> ((SerializedTeam) team).size())
+                .build());
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,12 @@
+package com.matawan.teamservice.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the background tasks, such as the relay of the team outbox.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,131 @@
+package com.matawan.teamservice.controller;
+
+import com.matawan.teamservice.dtos.request.TeamFilter;
+import com.matawan.teamservice.dtos.request.TeamRequest;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.repository.TeamVersion;
+import com.matawan.teamservice.service.ReactiveTeamService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Controller for handling CRUD operations related to teams on the reactive stack. It serves the same
+ * contract as {@link TeamController}, which replaces it when the application runs on servlets.
+ */
+@RestController
+@RequestMapping("/teams")
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTeamController {
+
+    @Autowired
+    private ReactiveTeamService teamService;
+
+    /**
+     * Creates a new team
+     *
+     * @param teamRequest The team request object to be created.
+     * @return The created team with HTTP status 201 Created.
+     */
+    @PostMapping
+    public Mono<ResponseEntity<TeamResponse>> createTeam(@Valid @RequestBody TeamRequest teamRequest) {
+        return teamService.saveTeam(teamRequest)
+                .map(createdTeam -> ResponseEntity.status(HttpStatus.CREATED).body(createdTeam));
+    }
+
+    /**
+     * Updates an existing team
+     *
+     * @param id             The ID of the team to update.
+     * @param updatedTeam    The updated team data.
+     * @param ifMatch        The ETag of the team the update is based on, if any.
+     * @param acceptEncoding The codings the client accepts, which the ETag of the response depends on.
+     * @return The updated team with its new ETag and HTTP status 200 OK, or HTTP status 412 Precondition
+     * Failed if the team changed since.
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<TeamResponse>> updateTeam(@PathVariable Long id, @Valid @RequestBody TeamRequest updatedTeam,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return Mono.defer(() -> teamService.updateTeam(id, updatedTeam, TeamETags.parseVersion(ifMatch)))
+                .map(team -> withVersion(team, acceptEncoding));
+    }
+
+    /**
+     * Retrieves a team by its ID. A conditional request whose ETag or date still matches the team is
+     * answered with HTTP status 304 Not Modified.
+     *
+     * @param id             The ID of the team to retrieve.
+     * @param acceptEncoding The codings the client accepts, which the ETag of the response depends on.
+     * @return The team with its ETag and HTTP status 200 OK
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<TeamResponse>> getTeamById(@PathVariable @NotNull Long id,
+                                                          @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return teamService.getTeamById(id).map(team -> withVersion(team, acceptEncoding));
+    }
+
+    /**
+     * Deletes a team by its ID
+     *
+     * @param id The ID of the team to delete
+     * @return HTTP status 204 No Content to indicate successful deletion
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteTeam(@PathVariable Long id) {
+        return teamService.deleteTeam(id).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    /**
+     * Retrieves a page of the teams matching the filters. A request whose {@code If-None-Match} still
+     * matches the page is answered with HTTP status 304 Not Modified, once the page is read.
+     *
+     * @param filter   The filters to apply, from the query parameters.
+     * @param pageable The page and sort to apply.
+     * @return The page with its ETag and HTTP status 200 OK
+     */
+    @GetMapping
+    public Mono<ResponseEntity<Page<TeamResponse>>> getTeams(@Valid TeamFilter filter, Pageable pageable) {
+        return teamService.getTeams(filter, pageable)
+                .map(page -> ResponseEntity.ok().eTag(TeamETags.of(page.map(TeamVersion::of))).body(page));
+    }
+
+    /**
+     * Streams a page of teams as NDJSON, one team per line, when requested with
+     * {@code Accept: application/x-ndjson}. Teams are written as they are read and reading follows the
+     * demand of the client.
+     *
+     * @param filter   The filters to apply, from the query parameters.
+     * @param pageable The page and sort to apply.
+     * @return The teams of the page.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TeamResponse> streamTeams(@Valid TeamFilter filter, Pageable pageable) {
+        return teamService.streamTeams(filter, pageable);
+    }
+
+    /**
+     * A response with the team, its ETag and its last modification time, which conditional GETs are
+     * evaluated against. The server may gzip the team for a client that accepts it, so the ETag is then
+     * that of the gzipped representation, as on the servlet stack.
+     */
+    private static ResponseEntity<TeamResponse> withVersion(TeamResponse team, String acceptEncoding) {
+        return ResponseEntity.ok()
+                .eTag(TeamETags.of(TeamVersion.of(team), MediaType.APPLICATION_JSON, TeamETags.acceptsGzip(acceptEncoding)))
+                .lastModified(team.getLastModified())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .body(team);
+    }
+}
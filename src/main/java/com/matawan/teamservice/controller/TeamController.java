@@ -1,29 +1,108 @@
 package com.matawan.teamservice.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.matawan.teamservice.configuration.BinaryFormatConfig;
+import com.matawan.teamservice.dtos.request.TeamBatchGetRequest;
+import com.matawan.teamservice.dtos.request.TeamBudgetAdjustmentRequest;
+import com.matawan.teamservice.dtos.request.TeamFilter;
 import com.matawan.teamservice.dtos.request.TeamRequest;
+import com.matawan.teamservice.dtos.response.BulkImportResponse;
+import com.matawan.teamservice.dtos.response.SerializedTeam;
+import com.matawan.teamservice.dtos.response.TeamBatchGetResponse;
+import com.matawan.teamservice.dtos.response.TeamBulkChangeResponse;
 import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.dtos.response.TeamSearchHit;
+import com.matawan.teamservice.dtos.response.TeamSliceResponse;
+import com.matawan.teamservice.repository.TeamVersion;
+import com.matawan.teamservice.service.SerializedTeamService;
+import com.matawan.teamservice.service.TeamChangeFeed;
+import com.matawan.teamservice.service.TeamSearchService;
 import com.matawan.teamservice.service.TeamService;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
- * Controller for handling CRUD operations related to teams.
+ * Controller for handling CRUD operations related to teams. Bodies are JSON, or CBOR or Smile for the
+ * clients asking for them, see {@link BinaryFormatConfig}.
  */
 @RestController
 @RequestMapping("/teams")
 @Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class TeamController {
 
+    private static final List<MediaType> TEAM_FORMATS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR,
+            BinaryFormatConfig.APPLICATION_SMILE);
+
+    private static final List<MediaType> EXPORT_FORMATS = List.of(MediaType.APPLICATION_NDJSON,
+            BinaryFormatConfig.APPLICATION_CBOR_SEQ, BinaryFormatConfig.APPLICATION_SMILE);
+
     @Autowired
     private TeamService teamService;
 
+    @Autowired
+    private SerializedTeamService serializedTeamService;
+
+    @Autowired
+    private TeamSearchService teamSearchService;
+
+    @Autowired
+    private TeamChangeFeed teamChangeFeed;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Value("${teamservice.pages.streaming-min-size:100}")
+    private int pageStreamingMinSize;
+
+    private Map<MediaType, TeamPageWriter> pageWriters;
+
+    @PostConstruct
+    public void createPageWriters() {
+        pageWriters = new HashMap<>();
+        TEAM_FORMATS.forEach(format -> pageWriters.put(format, new TeamPageWriter(objectMapperFor(format))));
+    }
+
     /**
      * Creates a new team
      *
@@ -36,29 +115,136 @@ public class TeamController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdTeam);
     }
 
+    /**
+     * Imports teams in bulk from a JSON array or an NDJSON stream, or their CBOR or Smile equivalents. The
+     * body is read incrementally and invalid teams are reported without failing the rest of the import.
+     *
+     * @param request The request whose body holds the teams.
+     * @return A ResponseEntity containing the import summary with HTTP status 200 OK.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, BinaryFormatConfig.APPLICATION_CBOR_SEQ_VALUE, BinaryFormatConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<BulkImportResponse> importTeams(HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        try (MappingIterator<TeamRequest> teamRequests = objectMapperFor(contentType).readerFor(TeamRequest.class)
+                .readValues(request.getInputStream())) {
+            BulkImportResponse importResponse = teamService.importTeams(teamRequests);
+            return ResponseEntity.ok(importResponse);
+        }
+    }
+
+    /**
+     * Fetches several teams in one round trip, in the order of the requested IDs. Teams that do not exist
+     * are reported in place rather than failing the request.
+     *
+     * @param batchGetRequest The IDs of the teams, at most {@value TeamBatchGetRequest#MAX_IDS}.
+     * @return A ResponseEntity containing one item per requested ID with HTTP status 200 OK
+     */
+    @PostMapping("/batch-get")
+    public ResponseEntity<TeamBatchGetResponse> getTeamsByIds(@Valid @RequestBody TeamBatchGetRequest batchGetRequest) {
+        return ResponseEntity.ok(teamService.getTeamsByIds(batchGetRequest.getIds()));
+    }
+
     /**
      * Updates an existing team
      *
      * @param id          The ID of the team to update.
      * @param updatedTeam The updated team data.
-     * @return A ResponseEntity containing the updated team with HTTP status 200 OK.
+     * @param ifMatch     The ETag of the team the update is based on, if any.
+     * @return A ResponseEntity containing the updated team with its new ETag and HTTP status 200 OK,
+     * or HTTP status 412 Precondition Failed if the team changed since.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<TeamResponse> updateTeam(@PathVariable Long id, @Valid @RequestBody TeamRequest updatedTeam) {
-        TeamResponse team = teamService.updateTeam(id, updatedTeam);
-        return ResponseEntity.ok(team);
+    public ResponseEntity<TeamResponse> updateTeam(@PathVariable Long id, @Valid @RequestBody TeamRequest updatedTeam,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        TeamResponse team = teamService.updateTeam(id, updatedTeam, TeamETags.parseVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(TeamETags.of(TeamVersion.of(team), preferredType(accept, TEAM_FORMATS), false))
+                .lastModified(team.getLastModified())
+                .body(team);
     }
 
     /**
-     * Retrieves a team by its ID
+     * Retrieves a team by its ID. A conditional request whose ETag or date still matches the team is
+     * answered with HTTP status 304 Not Modified, from the team version only. Otherwise the pre-serialised
+     * JSON of the team is written as is, gzipped if the client accepts it and it was compressed ahead of time,
+     * unless the client prefers CBOR or Smile. Each representation has its own ETag, the version of the team
+     * suffixed with its format or coding, all accepted by {@code If-Match}.
      *
-     * @param id The ID of the team to retrieve.
-     * @return A ResponseEntity containing the team with HTTP status 200 OK
+     * @param id         The ID of the team to retrieve.
+     * @param webRequest The request, to evaluate its conditional headers.
+     * @return A ResponseEntity containing the team with its ETag and HTTP status 200 OK
+     */
+    @GetMapping(value = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            BinaryFormatConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<?> getTeamById(@PathVariable @NotNull Long id, WebRequest webRequest) {
+        MediaType format = preferredType(webRequest.getHeader(HttpHeaders.ACCEPT), TEAM_FORMATS);
+        boolean acceptsGzip = TeamETags.acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String ifNoneMatch = webRequest.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            TeamVersion version = teamService.getTeamVersion(id);
+            // whether the JSON is sent gzipped only depends on its size, so on the version: a client holding
+            // the gzipped JSON of the current version would be sent the same representation again
+            boolean gzipped = format.equals(MediaType.APPLICATION_JSON) && acceptsGzip
+                    && ifNoneMatch != null && ifNoneMatch.contains("-gzip\"");
+            if (webRequest.checkNotModified(TeamETags.of(version, format, gzipped), version.lastModified().toEpochMilli())) {
+                return null;
+            }
+        }
+        if (!format.equals(MediaType.APPLICATION_JSON)) {
+            // only the JSON is cached pre-serialised, the binary formats are encoded from the cached team
+            TeamResponse team = teamService.getTeamById(id);
+            return ResponseEntity.ok()
+                    .eTag(TeamETags.of(TeamVersion.of(team), format, false))
+                    .lastModified(team.getLastModified())
+                    .contentType(format)
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .body(team);
+        }
+        SerializedTeam team = serializedTeamService.getSerializedTeamById(id);
+        boolean gzipped = team.gzippedJson() != null && acceptsGzip;
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(TeamETags.of(new TeamVersion(id, team.version(), team.lastModified()), format, gzipped))
+                .lastModified(team.lastModified())
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzipped) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzipped ? team.gzippedJson() : team.json());
+    }
+
+    /**
+     * The producible media type the client prefers, by quality then specificity of its {@code Accept} header,
+     * the first producible one if the client accepts anything.
      */
-    @GetMapping("/{id}")
-    public ResponseEntity<TeamResponse> getTeamById(@PathVariable @NotNull Long id) {
-        TeamResponse team = teamService.getTeamById(id);
-        return ResponseEntity.ok(team);
+    private static MediaType preferredType(String accept, List<MediaType> producible) {
+        if (accept == null) {
+            return producible.getFirst();
+        }
+        List<MediaType> requested = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        requested.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed()
+                .thenComparing(MediaType::isWildcardType)
+                .thenComparing(MediaType::isWildcardSubtype));
+        for (MediaType type : requested) {
+            for (MediaType candidate : producible) {
+                if (type.getQualityValue() > 0 && type.isCompatibleWith(candidate)) {
+                    return candidate;
+                }
+            }
+        }
+        return producible.getFirst();
+    }
+
+    private ObjectMapper objectMapperFor(MediaType format) {
+        if (format.isCompatibleWith(MediaType.APPLICATION_CBOR) || format.isCompatibleWith(BinaryFormatConfig.APPLICATION_CBOR_SEQ)) {
+            return cborConverter.getObjectMapper();
+        }
+        if (format.isCompatibleWith(BinaryFormatConfig.APPLICATION_SMILE)) {
+            return smileConverter.getObjectMapper();
+        }
+        return objectMapper;
     }
 
     /**
@@ -73,9 +259,156 @@ public class TeamController {
         return ResponseEntity.noContent().build();
     }
 
-    @GetMapping
-    public ResponseEntity<Page<TeamResponse>> getTeams(Pageable pageable) {
-        Page<TeamResponse> teamResponse = teamService.getTeams(pageable);
-        return ResponseEntity.ok(teamResponse);
+    /**
+     * Deletes the teams matching the filters, with set-based statements.
+     *
+     * @param filter The teams to delete, from the query parameters; at least one filter is required.
+     * @return A ResponseEntity containing the number and IDs of the deleted teams with HTTP status 200 OK
+     */
+    @DeleteMapping
+    public ResponseEntity<TeamBulkChangeResponse> deleteTeams(@Valid TeamFilter filter) {
+        return ResponseEntity.ok(teamService.deleteTeams(filter));
+    }
+
+    /**
+     * Changes the budget of the teams matching the filters by a percentage, with set-based statements.
+     *
+     * @param filter            The teams to change, from the query parameters; at least one filter is required.
+     * @param adjustmentRequest The change of the budgets.
+     * @return A ResponseEntity containing the number and IDs of the changed teams with HTTP status 200 OK
+     */
+    @PatchMapping("/budget")
+    public ResponseEntity<TeamBulkChangeResponse> adjustBudgets(@Valid TeamFilter filter,
+                                                                @Valid @RequestBody TeamBudgetAdjustmentRequest adjustmentRequest) {
+        return ResponseEntity.ok(teamService.adjustBudgets(filter, adjustmentRequest.getPercent()));
+    }
+
+    /**
+     * Retrieves a page of the teams matching the filters. A request whose {@code If-None-Match} still
+     * matches the page is answered with HTTP status 304 Not Modified, from the team versions only.
+     * Pages of {@code teamservice.pages.streaming-min-size} teams or more are written one team at a time
+     * from their rows, with the ETag of their team versions, instead of being built in memory first.
+     *
+     * @param filter     The filters to apply, from the query parameters.
+     * @param pageable   The page and sort to apply.
+     * @param webRequest The request, to evaluate its conditional headers.
+     * @param response   The response, written directly for the streamed pages.
+     * @return A ResponseEntity containing the page with its ETag and HTTP status 200 OK, or null once
+     * a streamed page is written.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            BinaryFormatConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<Page<TeamResponse>> getTeams(@Valid TeamFilter filter, Pageable pageable, WebRequest webRequest,
+                                                       HttpServletResponse response) throws IOException {
+        boolean streamed = pageable.isPaged() && pageable.getPageSize() >= pageStreamingMinSize;
+        Page<TeamVersion> versions = null;
+        if (streamed || webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            versions = teamService.getTeamVersions(filter, pageable);
+            if (webRequest.checkNotModified(TeamETags.of(versions))) {
+                return null;
+            }
+        }
+        if (streamed) {
+            // the rows are read after the versions, so the body is never older than its ETag, and in full,
+            // so no connection is held while a slow client reads the page
+            List<Supplier<TeamResponse>> teams = teamService.getTeamRows(filter, pageable);
+            MediaType format = preferredType(webRequest.getHeader(HttpHeaders.ACCEPT), TEAM_FORMATS);
+            response.setContentType(format.toString());
+            response.setHeader(HttpHeaders.ETAG, TeamETags.of(versions));
+            pageWriters.get(format).write(response.getOutputStream(), pageable, versions.getTotalElements(), teams);
+            return null;
+        }
+        Page<TeamResponse> teamResponse = teamService.getTeams(filter, pageable);
+        return ResponseEntity.ok()
+                .eTag(TeamETags.of(teamResponse.map(TeamVersion::of)))
+                .body(teamResponse);
+    }
+
+    /**
+     * Exports all teams with their players as NDJSON, one team per line, or as a sequence of CBOR or Smile
+     * values, one per team. The response is written while the teams are read, so memory use stays flat
+     * whatever the number of teams.
+     *
+     * @param accept The formats the client accepts.
+     * @return A ResponseEntity streaming the teams with HTTP status 200 OK
+     */
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE,
+            BinaryFormatConfig.APPLICATION_CBOR_SEQ_VALUE, BinaryFormatConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportTeams(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        MediaType format = preferredType(accept, EXPORT_FORMATS);
+        if (!format.equals(MediaType.APPLICATION_NDJSON)) {
+            // binary values need no separator, a single generator writes them one after the other
+            ObjectWriter writer = objectMapperFor(format).writerFor(TeamResponse.class)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            StreamingResponseBody body = outputStream -> {
+                try (SequenceWriter sequence = writer.writeValues(outputStream)) {
+                    teamService.exportTeams(team -> {
+                        try {
+                            sequence.write(team);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            };
+            return ResponseEntity.ok().contentType(format).body(body);
+        }
+        ObjectWriter writer = objectMapper.writerFor(TeamResponse.class);
+        StreamingResponseBody body = outputStream -> teamService.exportTeams(team -> {
+            try {
+                outputStream.write(writer.writeValueAsBytes(team));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Streams the changes of the teams as Server-Sent Events, each with its offset as event ID and its type
+     * as event name. Clients reconnecting with {@code Last-Event-ID} first receive the changes they missed;
+     * a {@value TeamChangeFeed#RESET_EVENT} event tells them when those are no longer available.
+     *
+     * @param lastEventId  The offset of the last change received, omitted for new changes only.
+     * @param includeTeams Whether to send each created or updated team with its change.
+     * @return The stream of changes, open until the client disconnects or the request times out.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                    @RequestParam(defaultValue = "false") boolean includeTeams) {
+        SseEmitter emitter = new SseEmitter();
+        teamChangeFeed.subscribe(emitter, lastEventId, includeTeams);
+        return emitter;
+    }
+
+    /**
+     * Searches the teams by words of their name, acronym, player names or player positions, from the
+     * in-memory search index. Words may be partial and every word must match.
+     *
+     * @param q        The words to search.
+     * @param pageable The page to return; hits are ranked by relevance, so its sort is ignored.
+     * @return A ResponseEntity containing the page of hits with HTTP status 200 OK
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Page<TeamSearchHit>> searchTeams(@RequestParam String q, Pageable pageable) {
+        return ResponseEntity.ok(teamSearchService.search(q, pageable));
+    }
+
+    /**
+     * Retrieves teams with cursor paging. Unlike {@link #getTeams(TeamFilter, Pageable, WebRequest, HttpServletResponse)}, the cost of a slice does not
+     * depend on its depth and no total count is computed.
+     *
+     * @param cursor The token returned with the previous slice, omitted for the first slice.
+     * @param size   The maximum number of teams of the slice.
+     * @param sort   The order of the first slice, on id, name, acronym or budget.
+     * @return A ResponseEntity containing the slice with HTTP status 200 OK
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<TeamSliceResponse> scrollTeams(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "10") int size,
+                                                         @SortDefault(sort = "id") Sort sort) {
+        TeamSliceResponse slice = teamService.scrollTeams(cursor, size, sort);
+        return ResponseEntity.ok(slice);
     }
 }
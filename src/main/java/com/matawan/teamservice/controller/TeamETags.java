@@ -0,0 +1,100 @@
+package com.matawan.teamservice.controller;
+
+import com.matawan.teamservice.configuration.BinaryFormatConfig;
+import com.matawan.teamservice.exception.PreconditionFailedException;
+import com.matawan.teamservice.repository.TeamVersion;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * ETags of teams and pages of teams, derived from the team versions so they can be computed without
+ * loading the teams.
+ */
+final class TeamETags {
+
+    private static final Set<String> REPRESENTATION_SUFFIXES = Set.of("gzip", "cbor", "smile");
+
+    private TeamETags() {
+    }
+
+    static String of(TeamVersion team) {
+        return of(team, MediaType.APPLICATION_JSON, false);
+    }
+
+    /**
+     * The ETag of a representation of a team: its version, suffixed with the format and the coding of the
+     * representation when it is not identity JSON, as a strong ETag must differ between representations.
+     *
+     * @param format  The media type of the representation.
+     * @param gzipped Whether the representation is gzipped.
+     */
+    static String of(TeamVersion team, MediaType format, boolean gzipped) {
+        StringBuilder etag = new StringBuilder("\"").append(team.version());
+        if (format.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+            etag.append("-cbor");
+        } else if (format.isCompatibleWith(BinaryFormatConfig.APPLICATION_SMILE)) {
+            etag.append("-smile");
+        }
+        if (gzipped) {
+            etag.append("-gzip");
+        }
+        return etag.append('"').toString();
+    }
+
+    /**
+     * Whether the client accepts a gzipped representation, from its {@code Accept-Encoding} header.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            if (parameters[0].trim().equalsIgnoreCase("gzip")) {
+                // only an explicit q=0 refuses it
+                return parameters.length == 1 || !parameters[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The ETag of a page, which changes when a team of the page changes, when the teams of the page
+     * change and when the total number of teams changes. It is weak, as the page is the same whatever
+     * its encoding: the server does not compress responses with a strong ETag.
+     */
+    static String of(Page<TeamVersion> page) {
+        StringBuilder versions = new StringBuilder().append(page.getTotalElements());
+        page.forEach(team -> versions.append(',').append(team.id()).append(':').append(team.version()));
+        return "W/\"" + DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Parses the version of an {@code If-Match} header, whatever the representation its ETag was sent with.
+     *
+     * @return The version, or null if the header is absent or {@code *}.
+     * @throws PreconditionFailedException If the header does not hold the ETag of a team.
+     */
+    static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        // weak ETags never match with the strong comparison of If-Match
+        if (etag.length() > 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            String[] parts = etag.substring(1, etag.length() - 1).split("-", 2);
+            if (parts.length == 1 || REPRESENTATION_SUFFIXES.contains(parts[1])) {
+                try {
+                    return Long.valueOf(parts[0]);
+                } catch (NumberFormatException e) {
+                    // reported below
+                }
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the team: " + ifMatch);
+    }
+}
@@ -0,0 +1,89 @@
+package com.matawan.teamservice.controller;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Writes a page of teams in the shape of a serialised {@link PageImpl}, building each team from its row
+ * only when it is written, so neither the teams of the page nor its encoding are held in memory. The rows
+ * are read beforehand, so no connection is held while the page is written. The teams come first, then the
+ * page metadata, which is serialised like the metadata of a buffered page.
+ */
+final class TeamPageWriter {
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectWriter teamWriter;
+
+    private final ObjectWriter metadataWriter;
+
+    /**
+     * @param objectMapper The mapper of the format to write, JSON or binary.
+     */
+    TeamPageWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        // a flush per team would send a chunk, and with compression a deflate block, per team
+        this.teamWriter = objectMapper.writerFor(TeamResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.metadataWriter = objectMapper.copy()
+                .addMixIn(PageImpl.class, WithoutContent.class)
+                .writerFor(PageImpl.class);
+    }
+
+    /**
+     * Writes a page.
+     *
+     * @param output   The stream to write to, left open.
+     * @param pageable The page of the teams.
+     * @param total    The total number of teams matching the query of the page.
+     * @param teams    Build the teams of the page from their rows, in the order of the page.
+     */
+    void write(OutputStream output, Pageable pageable, long total, List<Supplier<TeamResponse>> teams) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(output, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeFieldName("content");
+            generator.writeStartArray();
+            for (Supplier<TeamResponse> team : teams) {
+                teamWriter.writeValue(generator, team.get());
+            }
+            generator.writeEndArray();
+            writeMetadata(generator, new PageImpl<>(Collections.nCopies(teams.size(), null), pageable, total));
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Copies the fields of the serialised page, but its content, to the object being generated.
+     */
+    private void writeMetadata(JsonGenerator generator, PageImpl<?> page) throws IOException {
+        TokenBuffer metadata = new TokenBuffer(objectMapper, false);
+        metadataWriter.writeValue(metadata, page);
+        try (JsonParser parser = metadata.asParser()) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                generator.copyCurrentStructure(parser);
+            }
+        }
+    }
+
+    @JsonIgnoreProperties("content")
+    private abstract static class WithoutContent {
+    }
+}
@@ -0,0 +1,33 @@
+package com.matawan.teamservice.controller;
+
+import com.matawan.teamservice.dtos.response.TeamSummaryCheckResponse;
+import com.matawan.teamservice.service.TeamSummaryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint checking the team summaries against the teams ({@code GET}) and rebuilding them
+ * from the teams ({@code POST}), to backfill the summaries or repair the ones that drifted.
+ */
+@Component
+@Endpoint(id = "teamsummaries")
+public class TeamSummaryEndpoint {
+
+    @Autowired
+    private TeamSummaryService teamSummaryService;
+
+    @ReadOperation
+    public TeamSummaryCheckResponse check() {
+        return teamSummaryService.check();
+    }
+
+    @WriteOperation
+    public Map<String, Long> rebuild() {
+        return Map.of("rebuilt", teamSummaryService.rebuild());
+    }
+}
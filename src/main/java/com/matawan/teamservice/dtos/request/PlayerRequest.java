@@ -11,6 +11,12 @@ import lombok.Data;
 @Builder
 public class PlayerRequest {
 
+    /**
+     * ID of an existing player of the team, to update that player instead of replacing it.
+     * Omitted for new players.
+     */
+    private Long id;
+
     @NotEmpty(message = "Player name cannot be empty")
     private String name;
 
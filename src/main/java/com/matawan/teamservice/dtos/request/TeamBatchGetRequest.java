@@ -0,0 +1,28 @@
+package com.matawan.teamservice.dtos.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for fetching several teams at once.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamBatchGetRequest {
+
+    public static final int MAX_IDS = 100;
+
+    @NotEmpty(message = "Team ids cannot be empty or null")
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " teams can be fetched at once")
+    private List<@NotNull(message = "Team id cannot be null") Long> ids;
+
+}
@@ -0,0 +1,26 @@
+package com.matawan.teamservice.dtos.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for adjusting the budget of several teams at once.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamBudgetAdjustmentRequest {
+
+    /**
+     * Change of the budgets in percent, negative to lower them. Budgets must stay positive.
+     */
+    @NotNull(message = "Budget change percentage cannot be null")
+    @DecimalMin(value = "-100", inclusive = false, message = "Budget change percentage must be greater than -100")
+    private Double percent;
+
+}
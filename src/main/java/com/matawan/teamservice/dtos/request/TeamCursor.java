@@ -0,0 +1,72 @@
+package com.matawan.teamservice.dtos.request;
+
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.exception.InvalidCursorException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position for cursor paging: the sort key and ID of the last team of a slice.
+ * Clients only see it as an opaque token.
+ *
+ * @param property  The team property the slice is sorted by.
+ * @param direction The sort direction, also applied to the ID tie-breaker.
+ * @param value     The sort key of the last team, as a string.
+ * @param id        The ID of the last team.
+ */
+public record TeamCursor(String property, Sort.Direction direction, String value, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Creates the cursor pointing after the given team.
+     */
+    public static TeamCursor after(TeamResponse team, Sort.Order order) {
+        String value = switch (order.getProperty()) {
+            case "name" -> team.getName();
+            case "acronym" -> team.getAcronym();
+            case "budget" -> Double.toString(team.getBudget());
+            default -> team.getId().toString();
+        };
+        return new TeamCursor(order.getProperty(), order.getDirection(), value, team.getId());
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @throws InvalidCursorException If the token is malformed.
+     */
+    public static TeamCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|", 4);
+            TeamCursor cursor = new TeamCursor(parts[0], Sort.Direction.valueOf(parts[1]), parts[3], Long.valueOf(parts[2]));
+            cursor.typedValue();
+            return cursor;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = property + SEPARATOR + direction.name() + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Sort.Order order() {
+        return new Sort.Order(direction, property);
+    }
+
+    /**
+     * Returns the sort key converted to the type of the sort property.
+     */
+    public Object typedValue() {
+        return switch (property) {
+            case "budget" -> Double.valueOf(value);
+            case "id" -> Long.valueOf(value);
+            default -> value;
+        };
+    }
+}
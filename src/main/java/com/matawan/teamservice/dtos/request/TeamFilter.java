@@ -0,0 +1,76 @@
+package com.matawan.teamservice.dtos.request;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for filtering the team listing, bound from the query parameters. Filters left unset are
+ * not applied; the others must all match. Blank text filters are rejected rather than matching every team.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamFilter {
+
+    /**
+     * Values holding at least one non-whitespace character; unset filters are valid.
+     */
+    private static final String NOT_BLANK = "(?s).*\\S.*";
+
+    /**
+     * IDs of the teams, as a comma-separated list or a repeated parameter.
+     */
+    private List<Long> ids;
+
+    /**
+     * Start of the team name, case-sensitive so that it is served by the name index.
+     */
+    @Pattern(regexp = NOT_BLANK, message = "name cannot be blank")
+    private String name;
+
+    /**
+     * Part of the team name, case-insensitive. Unlike {@link #name}, it cannot use an index.
+     */
+    @Pattern(regexp = NOT_BLANK, message = "nameContains cannot be blank")
+    private String nameContains;
+
+    @Pattern(regexp = NOT_BLANK, message = "acronym cannot be blank")
+    private String acronym;
+
+    private Double minBudget;
+
+    private Double maxBudget;
+
+    /**
+     * Position of at least one player of the team.
+     */
+    @Pattern(regexp = NOT_BLANK, message = "position cannot be blank")
+    private String position;
+
+    @AssertTrue(message = "minBudget cannot be greater than maxBudget")
+    public boolean isBudgetRangeValid() {
+        return minBudget == null || maxBudget == null || minBudget <= maxBudget;
+    }
+
+    /**
+     * Whether at least one filter is set, so that the filter does not select every team.
+     */
+    public boolean hasConditions() {
+        return ids != null || name != null || nameContains != null || acronym != null
+                || minBudget != null || maxBudget != null || position != null;
+    }
+
+    /**
+     * Escapes the {@code LIKE} wildcards of a filter value, for patterns declaring {@code escape '\'}.
+     */
+    public static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
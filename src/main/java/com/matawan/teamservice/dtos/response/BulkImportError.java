@@ -0,0 +1,29 @@
+package com.matawan.teamservice.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Response DTO for a team rejected by a bulk import.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportError {
+
+    /**
+     * Zero-based position of the team in the submitted array or stream.
+     */
+    private int index;
+
+    /**
+     * Messages keyed by field, or by {@code error} when the team could not be stored.
+     */
+    private Map<String, String> errors;
+
+}
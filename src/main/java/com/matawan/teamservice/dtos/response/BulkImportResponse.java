@@ -0,0 +1,25 @@
+package com.matawan.teamservice.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO summarising a bulk team import.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResponse {
+
+    private int received;
+
+    private int imported;
+
+    private List<BulkImportError> errors;
+
+}
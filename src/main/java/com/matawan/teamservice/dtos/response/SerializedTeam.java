@@ -0,0 +1,23 @@
+package com.matawan.teamservice.dtos.response;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+/**
+ * The JSON of a {@link TeamResponse}, serialised once and written as is to every client.
+ * The buffers are shared: readers must write a {@link ByteBuffer#duplicate() duplicate}.
+ *
+ * @param version      The version of the team.
+ * @param lastModified The last modification time of the team.
+ * @param json         The UTF-8 JSON, on or off heap.
+ * @param gzippedJson  The gzipped JSON, or null when the JSON is not compressed ahead of time.
+ */
+public record SerializedTeam(Long version, Instant lastModified, ByteBuffer json, ByteBuffer gzippedJson) {
+
+    /**
+     * The number of bytes held, used to bound the cache by memory rather than by entries.
+     */
+    public int size() {
+        return json.capacity() + (gzippedJson == null ? 0 : gzippedJson.capacity());
+    }
+}
@@ -0,0 +1,32 @@
+package com.matawan.teamservice.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for one of the teams of a batch fetch: either the team or the reason it is missing.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamBatchGetItem {
+
+    /**
+     * The requested ID.
+     */
+    private Long id;
+
+    /**
+     * The team, null if it was not found.
+     */
+    private TeamResponse team;
+
+    /**
+     * Why the team is missing, null if it was found.
+     */
+    private String error;
+
+}
@@ -0,0 +1,28 @@
+package com.matawan.teamservice.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a batch fetch of teams.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamBatchGetResponse {
+
+    /**
+     * One item per requested ID, in the order of the request.
+     */
+    private List<TeamBatchGetItem> teams;
+
+    private int found;
+
+    private int missing;
+
+}
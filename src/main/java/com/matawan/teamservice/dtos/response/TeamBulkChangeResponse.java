@@ -0,0 +1,29 @@
+package com.matawan.teamservice.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a change applied to several teams at once.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamBulkChangeResponse {
+
+    /**
+     * Number of teams changed.
+     */
+    private int count;
+
+    /**
+     * IDs of the teams changed, in ID order.
+     */
+    private List<Long> ids;
+
+}
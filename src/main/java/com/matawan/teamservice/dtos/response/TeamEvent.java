@@ -0,0 +1,45 @@
+package com.matawan.teamservice.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.matawan.teamservice.entity.TeamEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A change of a team, as published to the {@link com.matawan.teamservice.service.TeamEventSink sinks} and
+ * pushed to the subscribers of the {@link com.matawan.teamservice.service.TeamChangeFeed change feed}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TeamEvent {
+
+    /**
+     * ID of the event, increasing with the changes of each team: the outbox ID for the sinks, which may
+     * receive an event more than once with the same ID, or the offset in the change feed.
+     */
+    private Long eventId;
+
+    private Long teamId;
+
+    private TeamEventType type;
+
+    /**
+     * Version of the team after the change, absent for deletions.
+     */
+    private Long version;
+
+    private Instant occurredAt;
+
+    /**
+     * The team after the change, absent for deletions.
+     */
+    private TeamResponse team;
+
+}
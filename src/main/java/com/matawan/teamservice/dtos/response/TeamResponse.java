@@ -1,10 +1,12 @@
 package com.matawan.teamservice.dtos.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -26,5 +28,13 @@ public class TeamResponse {
 
     private double budget;
 
+    /**
+     * Version of the team, sent as its ETag rather than in the body.
+     */
+    @JsonIgnore
+    private Long version;
+
+    @JsonIgnore
+    private Instant lastModified;
 
 }
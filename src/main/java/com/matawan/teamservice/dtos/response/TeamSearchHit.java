@@ -0,0 +1,34 @@
+package com.matawan.teamservice.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a team matching a search, with its relevance and the players that matched.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamSearchHit {
+
+    private Long id;
+
+    private String name;
+
+    private String acronym;
+
+    /**
+     * Relevance of the team, hits are sorted by decreasing score.
+     */
+    private int score;
+
+    /**
+     * The players whose name or position matched one of the searched words.
+     */
+    private List<PlayerResponse> matchedPlayers;
+}
@@ -0,0 +1,29 @@
+package com.matawan.teamservice.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a cursor-paged slice of teams. No total is computed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamSliceResponse {
+
+    private List<TeamResponse> content;
+
+    private int size;
+
+    private boolean hasNext;
+
+    /**
+     * Opaque token to pass as {@code cursor} to fetch the next slice, null on the last slice.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,46 @@
+package com.matawan.teamservice.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO reporting the differences between the teams and their summaries.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamSummaryCheckResponse {
+
+    private long teams;
+
+    /**
+     * Teams without a summary.
+     */
+    private long missing;
+
+    /**
+     * Summaries that differ from their team.
+     */
+    private long stale;
+
+    /**
+     * Summaries without a team.
+     */
+    private long orphaned;
+
+    /**
+     * The IDs of the first inconsistent teams and summaries, at most {@value #MAX_INCONSISTENT_IDS}.
+     */
+    private List<Long> inconsistentIds;
+
+    public static final int MAX_INCONSISTENT_IDS = 100;
+
+    public boolean isConsistent() {
+        return missing == 0 && stale == 0 && orphaned == 0;
+    }
+}
@@ -3,26 +3,56 @@ package com.matawan.teamservice.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
-@Data
+@Getter
+@Setter
+@ToString
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_player_team_id", columnList = "team_id"),
+        // the teams having a player in a position, without reading the players
+        @Index(name = "idx_player_position_team_id", columnList = "position, team_id")
+})
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Player {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "player_seq")
+    @SequenceGenerator(name = "player_seq", sequenceName = "player_seq", allocationSize = 50)
     private Long id;
 
     private String name;
 
     private String position;
 
+    // not printed: it would initialize the lazy team
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
     private Team team;
 
+    /**
+     * Players are equal when they are the same persisted player, see {@link Team#equals(Object)}.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || Team.persistentClass(this) != Team.persistentClass(o)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((Player) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Team.persistentClass(this).hashCode();
+    }
 }
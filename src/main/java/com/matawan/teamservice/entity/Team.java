@@ -3,24 +3,38 @@ package com.matawan.teamservice.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.proxy.HibernateProxy;
 
+import java.time.Instant;
 import java.util.List;
 
-@Data
+@Getter
+@Setter
+@ToString
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_team_name", columnList = "name"),
+        @Index(name = "idx_team_acronym", columnList = "acronym"),
+        @Index(name = "idx_team_budget", columnList = "budget")
+})
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Team {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_seq")
+    @SequenceGenerator(name = "team_seq", sequenceName = "team_seq", allocationSize = 50)
     private Long id;
 
     private String name;
 
+    // not printed: it would load the players, and each player prints its team
+    @ToString.Exclude
     @OneToMany(mappedBy = "team", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Player> players;
 
@@ -28,5 +42,48 @@ public class Team {
 
     private double budget;
 
+    /**
+     * Incremented on every change of the team, including changes of its players only, and sent as the
+     * team's ETag.
+     */
+    @Version
+    private Long version;
 
+    private Instant lastModified;
+
+    @PrePersist
+    void initLastModified() {
+        if (lastModified == null) {
+            lastModified = Instant.now();
+        }
+    }
+
+    /**
+     * Teams are equal when they are the same persisted team. Only IDs are compared, so the players are
+     * never read and a proxy given as argument is not initialized.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || persistentClass(this) != persistentClass(o)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((Team) o).getId());
+    }
+
+    /**
+     * Constant per entity class, so that the hash code does not change when the ID is assigned on persist.
+     */
+    @Override
+    public int hashCode() {
+        return persistentClass(this).hashCode();
+    }
+
+    static Class<?> persistentClass(Object entity) {
+        return entity instanceof HibernateProxy proxy
+                ? proxy.getHibernateLazyInitializer().getPersistentClass()
+                : entity.getClass();
+    }
 }
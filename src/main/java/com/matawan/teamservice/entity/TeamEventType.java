@@ -0,0 +1,10 @@
+package com.matawan.teamservice.entity;
+
+/**
+ * The kind of change a {@link TeamOutboxEvent} records.
+ */
+public enum TeamEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
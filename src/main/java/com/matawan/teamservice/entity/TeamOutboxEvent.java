@@ -0,0 +1,54 @@
+package com.matawan.teamservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * A change of a team waiting to be published, written in the transaction of the change itself. Events
+ * are published in ID order, which follows the order of the changes of each team, then deleted.
+ */
+@Getter
+@Setter
+@ToString
+@Entity
+@Table(name = "team_outbox")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_outbox_seq")
+    @SequenceGenerator(name = "team_outbox_seq", sequenceName = "team_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    private Long teamId;
+
+    // a plain string column rather than a database enum, so that new types need no schema change
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    private TeamEventType type;
+
+    /**
+     * The version of the team after the change, null for deletions.
+     */
+    private Long version;
+
+    /**
+     * The team after the change as its JSON response, null for deletions.
+     */
+    @ToString.Exclude
+    @Lob
+    private String payload;
+
+    private Instant occurredAt;
+}
@@ -0,0 +1,58 @@
+package com.matawan.teamservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Denormalised copy of a team, maintained by the writes of the team, that serves the team listings
+ * from a single table: the players are held as their serialised JSON array.
+ */
+@Getter
+@Setter
+@ToString
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_team_summary_name", columnList = "name"),
+        @Index(name = "idx_team_summary_acronym", columnList = "acronym"),
+        @Index(name = "idx_team_summary_budget", columnList = "budget")
+})
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamSummary {
+
+    /**
+     * The ID of the team.
+     */
+    @Id
+    private Long id;
+
+    private String name;
+
+    private String acronym;
+
+    private double budget;
+
+    private int playerCount;
+
+    /**
+     * The players of the team ordered by ID, as the JSON array of their responses.
+     */
+    @ToString.Exclude
+    @Lob
+    private String players;
+
+    /**
+     * The version of the team the summary was made from, not a version of the summary itself.
+     */
+    private Long version;
+
+    private Instant lastModified;
+}
@@ -3,8 +3,10 @@ package com.matawan.teamservice.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
+import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -17,10 +19,15 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(BindException.class)
     public ResponseEntity<Map<String, String>> handleValidationException(BindException ex) {
-        Map<String, String> errors = new HashMap<>();
-        ex.getBindingResult().getFieldErrors().forEach(error ->
-                errors.put(error.getField(), error.getDefaultMessage()));
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+        return fieldErrors(ex.getBindingResult());
+    }
+
+    /**
+     * Validation errors of the reactive stack, reported like the servlet ones.
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, String>> handleValidationException(WebExchangeBindException ex) {
+        return fieldErrors(ex.getBindingResult());
     }
 
     @ExceptionHandler(TeamNotFoundException.class)
@@ -29,4 +36,46 @@ public class GlobalExceptionHandler {
         errors.put("error", ex.getLocalizedMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errors);
     }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidCursorException(InvalidCursorException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getLocalizedMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+    }
+
+    @ExceptionHandler(InvalidTeamSelectionException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidTeamSelectionException(InvalidTeamSelectionException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getLocalizedMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+    }
+
+    @ExceptionHandler(InvalidSortException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidSortException(InvalidSortException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getLocalizedMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Map<String, String>> handlePreconditionFailedException(PreconditionFailedException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getLocalizedMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errors);
+    }
+
+    @ExceptionHandler(TeamConflictException.class)
+    public ResponseEntity<Map<String, String>> handleTeamConflictException(TeamConflictException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getLocalizedMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errors);
+    }
+
+    private ResponseEntity<Map<String, String>> fieldErrors(BindingResult bindingResult) {
+        Map<String, String> errors = new HashMap<>();
+        bindingResult.getFieldErrors().forEach(error ->
+                errors.put(error.getField(), error.getDefaultMessage()));
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+    }
 }
@@ -0,0 +1,7 @@
+package com.matawan.teamservice.exception;
+
+public class InvalidSortException extends RuntimeException {
+    public InvalidSortException(String message) {
+        super(message);
+    }
+}
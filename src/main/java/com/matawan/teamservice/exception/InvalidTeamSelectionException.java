@@ -0,0 +1,7 @@
+package com.matawan.teamservice.exception;
+
+public class InvalidTeamSelectionException extends RuntimeException {
+    public InvalidTeamSelectionException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.matawan.teamservice.exception;
+
+public class TeamConflictException extends RuntimeException{
+    public TeamConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,131 @@
+package com.matawan.teamservice.mapper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.matawan.teamservice.dtos.request.PlayerRequest;
+import com.matawan.teamservice.dtos.request.TeamRequest;
+import com.matawan.teamservice.dtos.response.PlayerResponse;
+import com.matawan.teamservice.dtos.response.TeamEvent;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.entity.Player;
+import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.entity.TeamEventType;
+import com.matawan.teamservice.entity.TeamOutboxEvent;
+import com.matawan.teamservice.entity.TeamSummary;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Conversions between the team entities and their request and response DTOs.
+ */
+public final class TeamMapper {
+
+    private TeamMapper() {
+    }
+
+    public static TeamResponse convertToDto(Team team) {
+        return TeamResponse.builder()
+                .id(team.getId())
+                .name(team.getName())
+                .acronym(team.getAcronym())
+                .budget(team.getBudget())
+                .version(team.getVersion())
+                .lastModified(team.getLastModified())
+                .players(team.getPlayers().stream()
+                        .map(player -> PlayerResponse.builder()
+                                .id(player.getId())
+                                .name(player.getName())
+                                .position(player.getPosition())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    /**
+     * Converts a team response to its summary, with the players ordered by ID and serialised by the
+     * given writer.
+     */
+    public static TeamSummary convertToSummary(TeamResponse team, ObjectWriter playersWriter) {
+        List<PlayerResponse> players = team.getPlayers().stream()
+                .sorted(Comparator.comparing(PlayerResponse::getId))
+                .toList();
+        try {
+            return TeamSummary.builder()
+                    .id(team.getId())
+                    .name(team.getName())
+                    .acronym(team.getAcronym())
+                    .budget(team.getBudget())
+                    .playerCount(players.size())
+                    .players(playersWriter.writeValueAsString(players))
+                    .version(team.getVersion())
+                    .lastModified(team.getLastModified())
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Players of team " + team.getId() + " could not be serialised", e);
+        }
+    }
+
+    /**
+     * Converts a change of a team to its outbox event, with the team serialised by the given writer.
+     *
+     * @param team The team after the change, or null for a deletion.
+     */
+    public static TeamOutboxEvent convertToOutboxEvent(TeamEventType type, Long teamId, TeamResponse team,
+                                                       ObjectWriter teamWriter) {
+        try {
+            return TeamOutboxEvent.builder()
+                    .teamId(teamId)
+                    .type(type)
+                    .version(team == null ? null : team.getVersion())
+                    .payload(team == null ? null : teamWriter.writeValueAsString(team))
+                    .occurredAt(Instant.now())
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Team " + teamId + " could not be serialised", e);
+        }
+    }
+
+    /**
+     * Converts an outbox event to its published form, with the team read by the given reader.
+     */
+    public static TeamEvent convertToEvent(TeamOutboxEvent event, ObjectReader teamReader) {
+        try {
+            return TeamEvent.builder()
+                    .eventId(event.getId())
+                    .teamId(event.getTeamId())
+                    .type(event.getType())
+                    .version(event.getVersion())
+                    .occurredAt(event.getOccurredAt())
+                    .team(event.getPayload() == null ? null : teamReader.readValue(event.getPayload()))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException("Event " + event.getId() + " could not be read", e);
+        }
+    }
+
+    /**
+     * Converts a team request to a new team entity. The players are not linked back to the team.
+     */
+    public static Team convertToEntity(TeamRequest teamRequest) {
+        return Team.builder()
+                .name(teamRequest.getName())
+                .acronym(teamRequest.getAcronym())
+                .budget(teamRequest.getBudget())
+                .players(convertPlayerRequestsToPlayers(teamRequest.getPlayers()))
+                .build();
+    }
+
+    public static List<Player> convertPlayerRequestsToPlayers(List<PlayerRequest> playerRequests) {
+        return playerRequests.stream()
+                .map(playerRequest -> Player.builder()
+                        .name(playerRequest.getName())
+                        .position(playerRequest.getPosition())
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,50 @@
+package com.matawan.teamservice.metrics;
+
+/**
+ * JDBC statements executed and time spent in JDBC by the current request, collected by
+ * {@link JdbcStatisticsListener} and recorded by {@link RequestMetricsFilter}. Only the work done on the
+ * request thread is counted: the statements of a streaming export, run on an async thread, are not.
+ */
+public final class JdbcRequestStatistics {
+
+    private static final ThreadLocal<JdbcRequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+
+    private long nanos;
+
+    private JdbcRequestStatistics() {
+    }
+
+    /**
+     * Starts collecting the statistics of the current thread.
+     */
+    static JdbcRequestStatistics start() {
+        JdbcRequestStatistics statistics = new JdbcRequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Adds an executed statement, or batch, to the statistics of the current thread, if collected.
+     */
+    static void record(long nanos) {
+        JdbcRequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+            statistics.nanos += nanos;
+        }
+    }
+
+    int getStatements() {
+        return statements;
+    }
+
+    long getNanos() {
+        return nanos;
+    }
+}
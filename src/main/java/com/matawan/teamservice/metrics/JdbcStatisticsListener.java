@@ -0,0 +1,32 @@
+package com.matawan.teamservice.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Hibernate session listener timing the statements and batches executed through JDBC, registered for
+ * every session through {@code hibernate.session.events.auto}.
+ */
+public class JdbcStatisticsListener implements SessionEventListener {
+
+    private long start;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        JdbcRequestStatistics.record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        JdbcRequestStatistics.record(System.nanoTime() - start);
+    }
+}
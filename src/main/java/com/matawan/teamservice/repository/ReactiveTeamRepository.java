@@ -0,0 +1,370 @@
+package com.matawan.teamservice.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.teamservice.dtos.request.PlayerRequest;
+import com.matawan.teamservice.dtos.request.TeamFilter;
+import com.matawan.teamservice.dtos.request.TeamRequest;
+import com.matawan.teamservice.dtos.response.PlayerResponse;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.entity.TeamEventType;
+import com.matawan.teamservice.entity.TeamOutboxEvent;
+import com.matawan.teamservice.entity.TeamSummary;
+import com.matawan.teamservice.exception.InvalidSortException;
+import com.matawan.teamservice.exception.PreconditionFailedException;
+import com.matawan.teamservice.mapper.TeamMapper;
+import com.matawan.teamservice.service.RosterChanges;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking counterpart of {@link TeamQueryRepository} and {@link TeamRepository} for the reactive
+ * stack, reading and writing the tables mapped by the JPA entities through R2DBC. Ids are taken from the
+ * same sequences as Hibernate's, so both stacks can write to the same database.
+ * <p>
+ * The statements are native SQL written for H2, the only database the reactive stack runs on: ids come
+ * from {@code next value for} and summaries are upserted with {@code merge into ... key (id)}, neither of
+ * which other databases accept. Porting the stack to another database means rewriting these statements.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTeamRepository {
+
+    /**
+     * The number of teams whose players are loaded by one {@code IN} query when listing teams. It also
+     * bounds how many teams are held in memory, whatever the page size.
+     */
+    private static final int PLAYER_FETCH_BATCH_SIZE = 50;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Finds a team and its players with a single statement.
+     *
+     * @param id The ID of the team.
+     * @return The team, or empty if it does not exist.
+     */
+    public Mono<TeamResponse> findTeamById(Long id) {
+        return databaseClient.sql("select t.id, t.name, t.acronym, t.budget, t.version, t.last_modified, "
+                        + "p.id as player_id, p.name as player_name, p.position as player_position "
+                        + "from team t left join player p on p.team_id = t.id where t.id = :id order by p.id")
+                .bind("id", id)
+                .fetch().all()
+                .collectList()
+                .filter(rows -> !rows.isEmpty())
+                .map(rows -> {
+                    TeamResponse team = toTeamResponse(rows.getFirst());
+                    rows.stream()
+                            .filter(row -> row.get("player_id") != null)
+                            .map(row -> PlayerResponse.builder()
+                                    .id((Long) row.get("player_id"))
+                                    .name((String) row.get("player_name"))
+                                    .position((String) row.get("player_position"))
+                                    .build())
+                            .forEach(team.getPlayers()::add);
+                    return team;
+                });
+    }
+
+    /**
+     * Streams a page of the teams matching the filters. Teams are emitted as they are read, with their
+     * players loaded by one {@code IN} query per batch of teams, so demand from the subscriber propagates to
+     * the database.
+     *
+     * @param filter   The filters to apply, see {@link TeamQueryRepository#findTeams(TeamFilter, Pageable)}.
+     * @param pageable The page and sort to apply, sorting on id, name, acronym or budget.
+     * @return The teams of the page, or an {@link InvalidSortException} for another sort property.
+     */
+    public Flux<TeamResponse> findTeams(TeamFilter filter, Pageable pageable) {
+        return Flux.defer(() -> {
+            Map<String, Object> parameters = new HashMap<>();
+            String sql = "select id, name, acronym, budget, version, last_modified from team" + where(filter, parameters) + orderBy(pageable.getSort());
+            if (pageable.isPaged()) {
+                sql += " limit :limit offset :offset";
+                parameters.put("limit", pageable.getPageSize());
+                parameters.put("offset", pageable.getOffset());
+            }
+            return databaseClient.sql(sql)
+                    .bindValues(parameters)
+                    .fetch().all();
+        })
+                .map(this::toTeamResponse)
+                .buffer(PLAYER_FETCH_BATCH_SIZE)
+                .concatMap(this::withPlayers);
+    }
+
+    public Mono<Long> count(TeamFilter filter) {
+        Map<String, Object> parameters = new HashMap<>();
+        return databaseClient.sql("select count(*) from team" + where(filter, parameters))
+                .bindValues(parameters)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * Inserts a team and its players.
+     *
+     * @param teamRequest The team to insert.
+     * @return The ID of the new team.
+     */
+    public Mono<Long> insertTeam(TeamRequest teamRequest) {
+        return databaseClient.sql("select next value for team_seq")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(id -> databaseClient.sql("insert into team (id, name, acronym, budget, version, last_modified) "
+                                + "values (:id, :name, :acronym, :budget, 0, current_timestamp)")
+                        .bind("id", id)
+                        .bind("name", teamRequest.getName())
+                        .bind("acronym", teamRequest.getAcronym())
+                        .bind("budget", teamRequest.getBudget())
+                        .then()
+                        .then(insertPlayers(id, teamRequest.getPlayers()))
+                        .thenReturn(id));
+    }
+
+    /**
+     * Updates a team and aligns its players with the requested roster, see {@link RosterChanges}.
+     * Unchanged players issue no update. Like {@link com.matawan.teamservice.service.TeamService#updateTeam},
+     * any change, including a change of the players only, increments the version and the last modification
+     * time of the team; an unchanged team keeps both. The expected version is checked against the team row
+     * once it is locked, so no change can slip in between the check and the update.
+     *
+     * @param id              The ID of the team.
+     * @param teamRequest     The new state of the team.
+     * @param expectedVersion The version the update is based on, or null to update whatever the version.
+     * @return Whether the team changed, empty if it does not exist, or a {@link PreconditionFailedException}
+     * if it is not at the expected version.
+     */
+    public Mono<Boolean> updateTeam(Long id, TeamRequest teamRequest, Long expectedVersion) {
+        return databaseClient.sql("select name, acronym, budget, version from team where id = :id for update")
+                .bind("id", id)
+                .fetch().one()
+                .flatMap(row -> {
+                    if (expectedVersion != null && !expectedVersion.equals(row.get("version"))) {
+                        return Mono.error(new PreconditionFailedException("Team " + id + " is at version "
+                                + row.get("version") + ", not " + expectedVersion));
+                    }
+                    boolean changed = !Objects.equals(row.get("name"), teamRequest.getName())
+                            || !Objects.equals(row.get("acronym"), teamRequest.getAcronym())
+                            || !Objects.equals(row.get("budget"), teamRequest.getBudget());
+                    return reconcilePlayers(id, teamRequest.getPlayers())
+                            .map(playersChanged -> changed || playersChanged);
+                })
+                .flatMap(changed -> !changed
+                        ? Mono.just(false)
+                        : databaseClient.sql("update team set name = :name, acronym = :acronym, budget = :budget, "
+                                        + "version = version + 1, last_modified = current_timestamp where id = :id")
+                                .bind("id", id)
+                                .bind("name", teamRequest.getName())
+                                .bind("acronym", teamRequest.getAcronym())
+                                .bind("budget", teamRequest.getBudget())
+                                .then()
+                                .thenReturn(true));
+    }
+
+    /**
+     * Inserts or replaces the {@link TeamSummary summary} of a team, taking
+     * its version and last modification time from the team row.
+     *
+     * @param team The team, with all its players.
+     */
+    public Mono<Void> saveSummary(TeamResponse team) {
+        TeamSummary summary = TeamMapper.convertToSummary(team, objectMapper.writer());
+        return databaseClient.sql("merge into team_summary "
+                        + "(id, name, acronym, budget, player_count, players, version, last_modified) key (id) "
+                        + "select t.id, t.name, t.acronym, t.budget, :playerCount, :players, t.version, t.last_modified "
+                        + "from team t where t.id = :id")
+                .bind("id", summary.getId())
+                .bind("playerCount", summary.getPlayerCount())
+                .bind("players", summary.getPlayers())
+                .then();
+    }
+
+    /**
+     * Records a change of a team in the {@link TeamOutboxEvent outbox}, taking the version of the team
+     * from its row. Deletions only record the ID of the team.
+     *
+     * @param type The change.
+     * @param id   The ID of the team.
+     * @param team The team after the change, with all its players, or null for a deletion.
+     */
+    public Mono<Void> insertOutboxEvent(TeamEventType type, Long id, TeamResponse team) {
+        if (team == null) {
+            return databaseClient.sql("insert into team_outbox (id, team_id, type, occurred_at) "
+                            + "values (next value for team_outbox_seq, :id, :type, current_timestamp)")
+                    .bind("id", id)
+                    .bind("type", type.name())
+                    .then();
+        }
+        TeamOutboxEvent event = TeamMapper.convertToOutboxEvent(type, id, team, objectMapper.writer());
+        return databaseClient.sql("insert into team_outbox (id, team_id, type, version, payload, occurred_at) "
+                        + "select next value for team_outbox_seq, t.id, :type, t.version, :payload, current_timestamp "
+                        + "from team t where t.id = :id")
+                .bind("id", id)
+                .bind("type", type.name())
+                .bind("payload", event.getPayload())
+                .then();
+    }
+
+    /**
+     * Deletes a team, its players and its summary.
+     *
+     * @param id The ID of the team.
+     * @return Whether the team existed.
+     */
+    public Mono<Boolean> deleteTeam(Long id) {
+        return databaseClient.sql("delete from player where team_id = :id")
+                .bind("id", id)
+                .then()
+                .then(databaseClient.sql("delete from team_summary where id = :id")
+                        .bind("id", id)
+                        .then())
+                .then(databaseClient.sql("delete from team where id = :id")
+                        .bind("id", id)
+                        .fetch().rowsUpdated())
+                .map(rows -> rows > 0);
+    }
+
+    /**
+     * @return Whether a player was removed, changed or added.
+     */
+    private Mono<Boolean> reconcilePlayers(Long teamId, List<PlayerRequest> playerRequests) {
+        return databaseClient.sql("select id from player where team_id = :teamId")
+                .bind("teamId", teamId)
+                .map(row -> row.get("id", Long.class))
+                .all()
+                .collectList()
+                .flatMap(currentPlayerIds -> {
+                    RosterChanges changes = RosterChanges.between(currentPlayerIds, playerRequests);
+                    Mono<Void> removals = changes.removals().isEmpty()
+                            ? Mono.empty()
+                            : databaseClient.sql("delete from player where id in (:ids)")
+                                    .bind("ids", changes.removals())
+                                    .then();
+                    Mono<Long> updated = Flux.fromIterable(changes.updates().entrySet())
+                            .concatMap(update -> databaseClient.sql("update player set name = :name, position = :position "
+                                            + "where id = :id and (name <> :name or position <> :position)")
+                                    .bind("id", update.getKey())
+                                    .bind("name", update.getValue().getName())
+                                    .bind("position", update.getValue().getPosition())
+                                    .fetch().rowsUpdated())
+                            .reduce(0L, Long::sum);
+                    return removals.then(updated)
+                            .flatMap(rows -> insertPlayers(teamId, changes.additions())
+                                    .thenReturn(rows > 0 || !changes.removals().isEmpty() || !changes.additions().isEmpty()));
+                });
+    }
+
+    private Mono<Void> insertPlayers(Long teamId, List<PlayerRequest> playerRequests) {
+        return Flux.fromIterable(playerRequests)
+                .concatMap(playerRequest -> databaseClient.sql("insert into player (id, name, position, team_id) "
+                                + "values (next value for player_seq, :name, :position, :teamId)")
+                        .bind("name", playerRequest.getName())
+                        .bind("position", playerRequest.getPosition())
+                        .bind("teamId", teamId)
+                        .then())
+                .then();
+    }
+
+    private Flux<TeamResponse> withPlayers(List<TeamResponse> teams) {
+        Map<Long, TeamResponse> teamsById = teams.stream()
+                .collect(Collectors.toMap(TeamResponse::getId, Function.identity()));
+        return findPlayersByTeamIds(teamsById.keySet())
+                .doOnNext(row -> teamsById.get((Long) row.get("team_id")).getPlayers().add(PlayerResponse.builder()
+                        .id((Long) row.get("id"))
+                        .name((String) row.get("name"))
+                        .position((String) row.get("position"))
+                        .build()))
+                .thenMany(Flux.fromIterable(teams));
+    }
+
+    private Flux<Map<String, Object>> findPlayersByTeamIds(Collection<Long> teamIds) {
+        return databaseClient.sql("select team_id, id, name, position from player where team_id in (:teamIds) order by id")
+                .bind("teamIds", teamIds)
+                .fetch().all();
+    }
+
+    /**
+     * Builds the where clause of the filters on the teams, adding the parameters it binds.
+     *
+     * @return The where clause, or an empty string if no filter is set.
+     */
+    private static String where(TeamFilter filter, Map<String, Object> parameters) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.getIds() != null) {
+            conditions.add("id in (:ids)");
+            parameters.put("ids", filter.getIds());
+        }
+        if (filter.getName() != null) {
+            conditions.add("name like :namePrefix escape '\\'");
+            parameters.put("namePrefix", TeamFilter.escapeLike(filter.getName()) + "%");
+        }
+        if (filter.getNameContains() != null) {
+            conditions.add("lower(name) like :namePart escape '\\'");
+            parameters.put("namePart", "%" + TeamFilter.escapeLike(filter.getNameContains().toLowerCase()) + "%");
+        }
+        if (filter.getAcronym() != null) {
+            conditions.add("acronym = :acronym");
+            parameters.put("acronym", filter.getAcronym());
+        }
+        if (filter.getMinBudget() != null) {
+            conditions.add("budget >= :minBudget");
+            parameters.put("minBudget", filter.getMinBudget());
+        }
+        if (filter.getMaxBudget() != null) {
+            conditions.add("budget <= :maxBudget");
+            parameters.put("maxBudget", filter.getMaxBudget());
+        }
+        if (filter.getPosition() != null) {
+            conditions.add("id in (select team_id from player where position = :position)");
+            parameters.put("position", filter.getPosition());
+        }
+        return conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+    }
+
+    private String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return " order by id";
+        }
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            if (!TeamQueryRepository.SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new InvalidSortException("Teams cannot be sorted by " + order.getProperty());
+            }
+            orders.add(order.getProperty() + (order.isAscending() ? " asc" : " desc"));
+        }
+        return " order by " + String.join(", ", orders);
+    }
+
+    private TeamResponse toTeamResponse(Map<String, Object> row) {
+        return TeamResponse.builder()
+                .id((Long) row.get("id"))
+                .name((String) row.get("name"))
+                .acronym((String) row.get("acronym"))
+                .budget((Double) row.get("budget"))
+                .version((Long) row.get("version"))
+                // the Instant mapped by Hibernate is stored as a timestamp with time zone
+                .lastModified(row.get("last_modified") instanceof OffsetDateTime lastModified ? lastModified.toInstant() : null)
+                .players(new ArrayList<>())
+                .build();
+    }
+}
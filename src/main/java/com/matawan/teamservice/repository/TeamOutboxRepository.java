@@ -0,0 +1,15 @@
+package com.matawan.teamservice.repository;
+
+import com.matawan.teamservice.entity.TeamOutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface TeamOutboxRepository extends JpaRepository<TeamOutboxEvent, Long> {
+
+    /**
+     * Finds the oldest events, in ID order.
+     */
+    List<TeamOutboxEvent> findByOrderByIdAsc(Limit limit);
+}
@@ -0,0 +1,373 @@
+package com.matawan.teamservice.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.matawan.teamservice.dtos.request.TeamCursor;
+import com.matawan.teamservice.dtos.request.TeamFilter;
+import com.matawan.teamservice.dtos.response.PlayerResponse;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.exception.InvalidSortException;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Read-only query layer projecting team rows straight into response DTOs.
+ * Unlike {@link TeamRepository}, no managed entities are hydrated, so no dirty-checking snapshots
+ * or proxies are created on the read path.
+ */
+@Repository
+@Transactional(readOnly = true)
+@Timed(value = "teams.query", histogram = true)
+public class TeamQueryRepository {
+
+    /**
+     * The properties pages of teams can be sorted by, columns of both the teams and their summaries.
+     */
+    public static final Set<String> SORT_PROPERTIES = Set.of("id", "name", "acronym", "budget");
+
+    private static final String TEAM_SELECT =
+            "select t.id as id, t.name as name, t.acronym as acronym, t.budget as budget, "
+                    + "t.version as version, t.lastModified as lastModified from Team t";
+
+    private static final String TEAM_WITH_PLAYERS_SELECT =
+            "select t.id as id, t.name as name, t.acronym as acronym, t.budget as budget, "
+                    + "t.version as version, t.lastModified as lastModified, "
+                    + "p.id as playerId, p.name as playerName, p.position as playerPosition "
+                    + "from Team t left join t.players p";
+
+    private static final String TEAM_VERSION_SELECT =
+            "select t.id as id, t.version as version, t.lastModified as lastModified from Team t";
+
+    private static final String SUMMARY_SELECT =
+            "select s.id as id, s.name as name, s.acronym as acronym, s.budget as budget, "
+                    + "s.version as version, s.lastModified as lastModified, s.players as players from TeamSummary s";
+
+    private static final String SUMMARY_VERSION_SELECT =
+            "select s.id as id, s.version as version, s.lastModified as lastModified from TeamSummary s";
+
+    private static final String PLAYER_SELECT =
+            "select p.team.id as teamId, p.id as id, p.name as name, p.position as position from Player p";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Finds a team and its players with a single statement.
+     *
+     * @param id The ID of the team.
+     * @return The team, or empty if it does not exist.
+     */
+    public Optional<TeamResponse> findTeamById(Long id) {
+        List<Tuple> rows = entityManager.createQuery(TEAM_WITH_PLAYERS_SELECT + " where t.id = :id order by p.id", Tuple.class)
+                .setParameter("id", id)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        TeamResponse team = toTeamResponse(rows.getFirst(), new ArrayList<>());
+        rows.stream()
+                .filter(row -> row.get("playerId") != null)
+                .map(row -> PlayerResponse.builder()
+                        .id(row.get("playerId", Long.class))
+                        .name(row.get("playerName", String.class))
+                        .position(row.get("playerPosition", String.class))
+                        .build())
+                .forEach(team.getPlayers()::add);
+        return Optional.of(team);
+    }
+
+    /**
+     * Finds teams by ID with two statements whatever their number: one for the teams, one for the players
+     * of all of them.
+     *
+     * @param ids The IDs of the teams.
+     * @return The teams found by ID, without an entry for the IDs of teams that do not exist.
+     */
+    public Map<Long, TeamResponse> findTeamsByIds(Collection<Long> ids) {
+        List<Tuple> rows = entityManager.createQuery(TEAM_SELECT + " where t.id in :ids", Tuple.class)
+                .setParameter("ids", ids)
+                .getResultList();
+        Map<Long, TeamResponse> teams = new HashMap<>();
+        toTeamResponses(rows).forEach(team -> teams.put(team.getId(), team));
+        return teams;
+    }
+
+    /**
+     * Finds the IDs of the teams matching the filters, on the team table, in ID order.
+     */
+    public List<Long> findTeamIds(TeamFilter filter) {
+        Map<String, Object> parameters = new HashMap<>();
+        TypedQuery<Long> query = entityManager.createQuery(
+                "select t.id from Team t" + where(filter, "t", parameters) + " order by t.id", Long.class);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    /**
+     * Finds the version of a team, with a primary key lookup on the team table only.
+     *
+     * @param id The ID of the team.
+     * @return The version, or empty if the team does not exist.
+     */
+    public Optional<TeamVersion> findTeamVersion(Long id) {
+        return entityManager.createQuery(TEAM_VERSION_SELECT + " where t.id = :id", Tuple.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst()
+                .map(TeamQueryRepository::toTeamVersion);
+    }
+
+    /**
+     * Finds the versions of the teams of a page, with the same filtering, paging and counting as
+     * {@link #findTeams(TeamFilter, Pageable)} but without reading the teams or their players.
+     *
+     * @param filter   The filters to apply.
+     * @param pageable The page and sort to apply.
+     * @return The page of versions.
+     */
+    public Page<TeamVersion> findTeamVersions(TeamFilter filter, Pageable pageable) {
+        Map<String, Object> parameters = new HashMap<>();
+        String where = where(filter, "s", parameters);
+        TypedQuery<Tuple> query = pagedQuery(SUMMARY_VERSION_SELECT + where, parameters, pageable);
+        List<TeamVersion> content = query.getResultList().stream().map(TeamQueryRepository::toTeamVersion).toList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> countSummaries(where, parameters));
+    }
+
+    public Page<TeamResponse> findTeams(Pageable pageable) {
+        return findTeams(new TeamFilter(), pageable);
+    }
+
+    /**
+     * Finds a page of teams from their summaries, with a single query on the summary table: the players
+     * are read from the serialised players of each summary. The count query is only issued when the total
+     * cannot be derived from the page itself. The filters on name prefix, acronym and budget are served by
+     * the indexes of the summary table, the one on position by the position index of the player table.
+     *
+     * @param filter   The filters to apply.
+     * @param pageable The page and sort to apply.
+     * @return The page of teams.
+     */
+    public Page<TeamResponse> findTeams(TeamFilter filter, Pageable pageable) {
+        Map<String, Object> parameters = new HashMap<>();
+        String where = where(filter, "s", parameters);
+        TypedQuery<Tuple> query = pagedQuery(SUMMARY_SELECT + where, parameters, pageable);
+        List<TeamResponse> content = toTeamSuppliers(query.getResultList()).stream()
+                .map(Supplier::get)
+                .toList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> countSummaries(where, parameters));
+    }
+
+    /**
+     * Reads the rows of the teams of a page like {@link #findTeams(TeamFilter, Pageable)}, in full, so the
+     * connection is released before they are used, but leaves each team to be built from its row, players
+     * included, when its supplier is called. No count query is issued: the caller knows the total from
+     * {@link #findTeamVersions(TeamFilter, Pageable)}.
+     *
+     * @param filter   The filters to apply.
+     * @param pageable The page and sort to apply.
+     * @return The suppliers of the teams of the page, in the order of the page.
+     */
+    public List<Supplier<TeamResponse>> findTeamRows(TeamFilter filter, Pageable pageable) {
+        Map<String, Object> parameters = new HashMap<>();
+        String where = where(filter, "s", parameters);
+        return toTeamSuppliers(pagedQuery(SUMMARY_SELECT + where, parameters, pageable).getResultList());
+    }
+
+    private List<Supplier<TeamResponse>> toTeamSuppliers(List<Tuple> summaryRows) {
+        ObjectReader playersReader = objectMapper.readerForListOf(PlayerResponse.class);
+        return summaryRows.stream()
+                .<Supplier<TeamResponse>>map(row -> () -> toTeamResponse(row, readPlayers(playersReader, row)))
+                .toList();
+    }
+
+    /**
+     * Creates the query of a page. Unsorted pages are ordered by ID, as filtered queries read the rows
+     * in the order of the index serving the filter.
+     *
+     * @throws InvalidSortException If the page is sorted by another property than {@link #SORT_PROPERTIES}.
+     */
+    private TypedQuery<Tuple> pagedQuery(String jpql, Map<String, Object> parameters, Pageable pageable) {
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by("id");
+        for (Sort.Order order : sort) {
+            if (!SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new InvalidSortException("Teams cannot be sorted by " + order.getProperty());
+            }
+        }
+        TypedQuery<Tuple> query = entityManager.createQuery(QueryUtils.applySorting(jpql, sort, "s"), Tuple.class);
+        parameters.forEach(query::setParameter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query;
+    }
+
+    private long countSummaries(String where, Map<String, Object> parameters) {
+        TypedQuery<Long> query = entityManager.createQuery("select count(s) from TeamSummary s" + where, Long.class);
+        parameters.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    /**
+     * Builds the where clause of the filters, adding the parameters it binds. Teams and their summaries
+     * share the filtered attributes, so the clause applies to either.
+     *
+     * @param alias The alias of the filtered {@code Team} or {@code TeamSummary}.
+     * @return The where clause, or an empty string if no filter is set.
+     */
+    private static String where(TeamFilter filter, String alias, Map<String, Object> parameters) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.getIds() != null) {
+            conditions.add(alias + ".id in :ids");
+            parameters.put("ids", filter.getIds());
+        }
+        if (filter.getName() != null) {
+            conditions.add(alias + ".name like :namePrefix escape '\\'");
+            parameters.put("namePrefix", TeamFilter.escapeLike(filter.getName()) + "%");
+        }
+        if (filter.getNameContains() != null) {
+            conditions.add("lower(" + alias + ".name) like :namePart escape '\\'");
+            parameters.put("namePart", "%" + TeamFilter.escapeLike(filter.getNameContains().toLowerCase()) + "%");
+        }
+        if (filter.getAcronym() != null) {
+            conditions.add(alias + ".acronym = :acronym");
+            parameters.put("acronym", filter.getAcronym());
+        }
+        if (filter.getMinBudget() != null) {
+            conditions.add(alias + ".budget >= :minBudget");
+            parameters.put("minBudget", filter.getMinBudget());
+        }
+        if (filter.getMaxBudget() != null) {
+            conditions.add(alias + ".budget <= :maxBudget");
+            parameters.put("maxBudget", filter.getMaxBudget());
+        }
+        if (filter.getPosition() != null) {
+            conditions.add(alias + ".id in (select p.team.id from Player p where p.position = :position)");
+            parameters.put("position", filter.getPosition());
+        }
+        return conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+    }
+
+    private static List<PlayerResponse> readPlayers(ObjectReader playersReader, Tuple row) {
+        try {
+            return playersReader.readValue(row.get("players", String.class));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Summary of team " + row.get("id") + " has unreadable players", e);
+        }
+    }
+
+    /**
+     * Finds the slice of teams following a keyset position, seeking on {@code (sort key, id)} instead of
+     * skipping rows, so the cost does not grow with the depth of the slice. No count query is issued.
+     *
+     * @param order The order of the slice, ties are broken on the ID in the same direction.
+     * @param after The position to continue from, or null for the first slice.
+     * @param size  The maximum number of teams to return.
+     * @return The slice of teams.
+     */
+    public Slice<TeamResponse> findTeamsAfter(Sort.Order order, TeamCursor after, int size) {
+        String property = "t." + order.getProperty();
+        String comparison = order.isAscending() ? ">" : "<";
+        StringBuilder jpql = new StringBuilder(TEAM_SELECT);
+        if (after != null) {
+            jpql.append(" where ");
+            if (order.getProperty().equals("id")) {
+                jpql.append("t.id ").append(comparison).append(" :id");
+            } else {
+                jpql.append(property).append(' ').append(comparison).append(" :value or (")
+                        .append(property).append(" = :value and t.id ").append(comparison).append(" :id)");
+            }
+        }
+        String direction = order.isAscending() ? " asc" : " desc";
+        jpql.append(" order by ").append(property).append(direction);
+        if (!order.getProperty().equals("id")) {
+            jpql.append(", t.id").append(direction);
+        }
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class)
+                .setMaxResults(size + 1);
+        if (after != null) {
+            query.setParameter("id", after.id());
+            if (!order.getProperty().equals("id")) {
+                query.setParameter("value", after.typedValue());
+            }
+        }
+        List<Tuple> rows = query.getResultList();
+        boolean hasNext = rows.size() > size;
+        List<TeamResponse> content = toTeamResponses(hasNext ? rows.subList(0, size) : rows);
+        return new SliceImpl<>(content, Pageable.ofSize(size), hasNext);
+    }
+
+    /**
+     * Maps team rows to responses, loading the players of all the rows with a single query.
+     */
+    private List<TeamResponse> toTeamResponses(List<Tuple> teamRows) {
+        if (teamRows.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<PlayerResponse>> playersByTeamId =
+                findPlayersByTeamIds(teamRows.stream().map(row -> row.get("id", Long.class)).toList());
+        return teamRows.stream()
+                .map(row -> toTeamResponse(row, playersByTeamId.getOrDefault(row.get("id", Long.class), new ArrayList<>())))
+                .toList();
+    }
+
+    private Map<Long, List<PlayerResponse>> findPlayersByTeamIds(Collection<Long> teamIds) {
+        Map<Long, List<PlayerResponse>> playersByTeamId = new HashMap<>();
+        entityManager.createQuery(PLAYER_SELECT + " where p.team.id in :teamIds order by p.id", Tuple.class)
+                .setParameter("teamIds", teamIds)
+                .getResultList()
+                .forEach(row -> playersByTeamId
+                        .computeIfAbsent(row.get("teamId", Long.class), teamId -> new ArrayList<>())
+                        .add(PlayerResponse.builder()
+                                .id(row.get("id", Long.class))
+                                .name(row.get("name", String.class))
+                                .position(row.get("position", String.class))
+                                .build()));
+        return playersByTeamId;
+    }
+
+    private TeamResponse toTeamResponse(Tuple row, List<PlayerResponse> players) {
+        return TeamResponse.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .acronym(row.get("acronym", String.class))
+                .budget(row.get("budget", Double.class))
+                .version(row.get("version", Long.class))
+                .lastModified(row.get("lastModified", Instant.class))
+                .players(players)
+                .build();
+    }
+
+    private static TeamVersion toTeamVersion(Tuple row) {
+        return new TeamVersion(row.get("id", Long.class), row.get("version", Long.class),
+                row.get("lastModified", Instant.class));
+    }
+}
@@ -1,11 +1,58 @@
 package com.matawan.teamservice.repository;
 
 import com.matawan.teamservice.entity.Team;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.stream.Stream;
 
 public interface TeamRepository extends JpaRepository<Team, Long> {
 
     Page<Team> findAll(Pageable pageable);
+
+    /**
+     * Streams all teams with their players through a forward-only cursor, ordered by ID.
+     * The stream must be consumed inside a transaction and closed; callers should detach the teams
+     * they are done with to keep the persistence context from growing.
+     */
+    @Query("select t from Team t left join fetch t.players order by t.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Team> streamAllWithPlayers();
+
+    /**
+     * Deletes the players of the given teams with a single statement, bypassing the persistence context.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Player p where p.team.id in :teamIds")
+    int deletePlayersByTeamIdIn(@Param("teamIds") Collection<Long> teamIds);
+
+    /**
+     * Deletes the given teams with a single statement, bypassing the persistence context. Their players
+     * must have been deleted first.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Team t where t.id in :ids")
+    int deleteTeamsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Multiplies the budget of the given teams with a single statement, rounded to the cent, and
+     * increments their version as an entity update would.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Team t set t.budget = round(t.budget * :factor, 2), t.version = t.version + 1, "
+            + "t.lastModified = :lastModified where t.id in :ids")
+    int multiplyBudgets(@Param("ids") Collection<Long> ids, @Param("factor") double factor,
+                        @Param("lastModified") Instant lastModified);
 }
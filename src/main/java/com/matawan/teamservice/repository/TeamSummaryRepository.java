@@ -0,0 +1,38 @@
+package com.matawan.teamservice.repository;
+
+import com.matawan.teamservice.entity.TeamSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+public interface TeamSummaryRepository extends JpaRepository<TeamSummary, Long> {
+
+    /**
+     * Streams all team summaries through a forward-only cursor, ordered by ID. The stream must be
+     * consumed inside a transaction and closed.
+     */
+    @Query("select s from TeamSummary s order by s.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<TeamSummary> streamAll();
+
+    /**
+     * Multiplies the budget of the given summaries like {@link TeamRepository#multiplyBudgets}, keeping
+     * them identical to their teams.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update TeamSummary s set s.budget = round(s.budget * :factor, 2), s.version = s.version + 1, "
+            + "s.lastModified = :lastModified where s.id in :ids")
+    int multiplyBudgets(@Param("ids") Collection<Long> ids, @Param("factor") double factor,
+                        @Param("lastModified") Instant lastModified);
+}
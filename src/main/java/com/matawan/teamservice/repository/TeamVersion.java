@@ -0,0 +1,15 @@
+package com.matawan.teamservice.repository;
+
+import com.matawan.teamservice.dtos.response.TeamResponse;
+
+import java.time.Instant;
+
+/**
+ * The version of a team, enough to validate a conditional request without loading the team.
+ */
+public record TeamVersion(Long id, Long version, Instant lastModified) {
+
+    public static TeamVersion of(TeamResponse team) {
+        return new TeamVersion(team.getId(), team.getVersion(), team.getLastModified());
+    }
+}
@@ -0,0 +1,62 @@
+package com.matawan.teamservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.matawan.teamservice.dtos.response.TeamEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends the team events to a local file, one JSON object per line. Each batch is written with a single
+ * write and forced to the disk before it is acknowledged.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty("teamservice.outbox.file-sink.path")
+public class NdjsonFileTeamEventSink implements TeamEventSink {
+
+    @Value("${teamservice.outbox.file-sink.path}")
+    private Path path;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public void publish(List<TeamEvent> events) {
+        ObjectWriter writer = objectMapper.writer();
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        try {
+            for (TeamEvent event : events) {
+                lines.write(writer.writeValueAsBytes(event));
+                lines.write('\n');
+            }
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Team events could not be written to " + path, e);
+        }
+        log.debug("Wrote {} team events to {}", events.size(), path);
+    }
+}
@@ -0,0 +1,104 @@
+package com.matawan.teamservice.service;
+
+import com.matawan.teamservice.dtos.request.TeamFilter;
+import com.matawan.teamservice.dtos.request.TeamRequest;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.entity.TeamEventType;
+import com.matawan.teamservice.exception.TeamNotFoundException;
+import com.matawan.teamservice.repository.ReactiveTeamRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link TeamService}, with the same behaviour and errors.
+ */
+@Service
+@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTeamService {
+
+    @Autowired
+    private ReactiveTeamRepository teamRepository;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    public Mono<TeamResponse> saveTeam(TeamRequest teamRequest) {
+        return teamRepository.insertTeam(teamRequest)
+                .flatMap(teamRepository::findTeamById)
+                .flatMap(team -> teamRepository.saveSummary(team)
+                        .then(teamRepository.insertOutboxEvent(TeamEventType.CREATED, team.getId(), team))
+                        .thenReturn(team))
+                .as(transactionalOperator::transactional)
+                .doOnNext(team -> log.info("Team saved successfully with ID: {}", team.getId()));
+    }
+
+    /**
+     * Updates a team, see {@link TeamService#updateTeam(Long, TeamRequest, Long)}. The team row is locked
+     * while it is updated, so concurrent updates wait for each other instead of conflicting.
+     *
+     * @param expectedVersion The version the update is based on, or null to update whatever the version.
+     */
+    public Mono<TeamResponse> updateTeam(Long id, TeamRequest teamRequest, Long expectedVersion) {
+        return teamRepository.updateTeam(id, teamRequest, expectedVersion)
+                .switchIfEmpty(Mono.error(() -> teamNotFound(id)))
+                .flatMap(changed -> teamRepository.findTeamById(id)
+                        // an unchanged team keeps its version, its summary and records no event
+                        .flatMap(team -> !changed ? Mono.just(team) : teamRepository.saveSummary(team)
+                                .then(teamRepository.insertOutboxEvent(TeamEventType.UPDATED, id, team))
+                                .thenReturn(team)))
+                .as(transactionalOperator::transactional)
+                .doOnNext(team -> log.info("Team updated successfully with ID: {}", id));
+    }
+
+    public Mono<TeamResponse> getTeamById(Long id) {
+        return teamRepository.findTeamById(id)
+                .switchIfEmpty(Mono.error(() -> teamNotFound(id)));
+    }
+
+    /**
+     * Finds a page of the teams matching the filters, see {@link TeamService#getTeams(TeamFilter, Pageable)}.
+     */
+    public Mono<Page<TeamResponse>> getTeams(TeamFilter filter, Pageable pageable) {
+        return teamRepository.findTeams(filter, pageable)
+                .collectList()
+                .flatMap(teams -> {
+                    // like PageableExecutionUtils, only count when the total cannot be derived from the page
+                    if (pageable.isUnpaged()) {
+                        return Mono.just(new PageImpl<>(teams, pageable, teams.size()));
+                    }
+                    if (teams.size() < pageable.getPageSize() && (pageable.getOffset() == 0 || !teams.isEmpty())) {
+                        return Mono.just(new PageImpl<>(teams, pageable, pageable.getOffset() + teams.size()));
+                    }
+                    return teamRepository.count(filter).map(total -> new PageImpl<>(teams, pageable, total));
+                });
+    }
+
+    /**
+     * Streams the teams of a page as they are read, without collecting the page first.
+     */
+    public Flux<TeamResponse> streamTeams(TeamFilter filter, Pageable pageable) {
+        return teamRepository.findTeams(filter, pageable);
+    }
+
+    public Mono<Void> deleteTeam(Long id) {
+        return teamRepository.deleteTeam(id)
+                .flatMap(existed -> existed
+                        ? teamRepository.insertOutboxEvent(TeamEventType.DELETED, id, null)
+                        : Mono.error(teamNotFound(id)))
+                .as(transactionalOperator::transactional)
+                .doOnSuccess(ignored -> log.info("Team deleted successfully with ID: {}", id));
+    }
+
+    private static TeamNotFoundException teamNotFound(Long id) {
+        return new TeamNotFoundException("Team not found by id: " + id);
+    }
+}
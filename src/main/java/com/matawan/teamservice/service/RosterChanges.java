@@ -0,0 +1,39 @@
+package com.matawan.teamservice.service;
+
+import com.matawan.teamservice.dtos.request.PlayerRequest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Changes needed to turn the current roster of a team into a requested one. Requested players carrying
+ * the ID of a current player update that player, the other requested players are added and the current
+ * players that are not requested any more are removed.
+ *
+ * @param updates   The requested players matching a current player, by player ID.
+ * @param additions The requested players to insert.
+ * @param removals  The IDs of the current players to delete.
+ */
+public record RosterChanges(Map<Long, PlayerRequest> updates, List<PlayerRequest> additions, Set<Long> removals) {
+
+    public static RosterChanges between(Collection<Long> currentPlayerIds, List<PlayerRequest> playerRequests) {
+        Map<Long, PlayerRequest> updates = new LinkedHashMap<>();
+        List<PlayerRequest> additions = new ArrayList<>();
+        for (PlayerRequest playerRequest : playerRequests) {
+            Long id = playerRequest.getId();
+            if (id != null && currentPlayerIds.contains(id) && !updates.containsKey(id)) {
+                updates.put(id, playerRequest);
+            } else {
+                additions.add(playerRequest);
+            }
+        }
+        Set<Long> removals = new HashSet<>(currentPlayerIds);
+        removals.removeAll(updates.keySet());
+        return new RosterChanges(updates, additions, removals);
+    }
+}
@@ -0,0 +1,83 @@
+package com.matawan.teamservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.teamservice.configuration.CacheConfig;
+import com.matawan.teamservice.dtos.response.SerializedTeam;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves teams as pre-serialised JSON, so that a cached team is written without going through Jackson.
+ * The {@value CacheConfig#TEAM_JSON_CACHE} cache is evicted by the write methods of {@link TeamService}.
+ */
+@Service
+@Slf4j
+public class SerializedTeamService {
+
+    /**
+     * Below this size, the JSON is not worth compressing, like Spring Boot's default
+     * {@code server.compression.min-response-size}.
+     */
+    private static final int GZIP_MIN_SIZE = 2048;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${teamservice.cache.team-json.gzip:true}")
+    private boolean gzip;
+
+    @Value("${teamservice.cache.team-json.off-heap:false}")
+    private boolean offHeap;
+
+    /**
+     * Fetches the JSON of a team, reading through the {@value CacheConfig#TEAM_JSON_CACHE} cache.
+     * The JSON is gzipped ahead of time when enabled and large enough to benefit from it.
+     */
+    @Cacheable(cacheNames = CacheConfig.TEAM_JSON_CACHE, key = "#id", sync = true)
+    public SerializedTeam getSerializedTeamById(Long id) {
+        TeamResponse team = teamService.getTeamById(id);
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(team);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Team " + id + " could not be serialised", e);
+        }
+        byte[] gzippedJson = gzip && json.length >= GZIP_MIN_SIZE ? gzip(json) : null;
+        log.debug("Serialised team with ID: {} to {} bytes, {} gzipped", id, json.length,
+                gzippedJson == null ? "not" : gzippedJson.length);
+        return new SerializedTeam(team.getVersion(), team.getLastModified(),
+                store(json), gzippedJson == null ? null : store(gzippedJson));
+    }
+
+    private ByteBuffer store(byte[] bytes) {
+        if (!offHeap) {
+            return ByteBuffer.wrap(bytes);
+        }
+        // freed with the buffer once evicted, bounded by -XX:MaxDirectMemorySize
+        return ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return gzipped.toByteArray();
+    }
+}
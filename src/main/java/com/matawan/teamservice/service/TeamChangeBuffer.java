@@ -0,0 +1,114 @@
+package com.matawan.teamservice.service;
+
+import com.matawan.teamservice.dtos.response.TeamEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded ring buffer of the latest team changes, numbered with increasing offsets. Appending never
+ * waits for readers: once the buffer is full, each change overwrites the oldest one, and a reader whose
+ * position was overwritten is told so instead of receiving an incomplete sequence. Thread-safe.
+ */
+final class TeamChangeBuffer {
+
+    private final TeamEvent[] changes;
+    private final long firstOffset;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+
+    /**
+     * The offset of the next change.
+     */
+    private long nextOffset;
+
+    /**
+     * @param capacity    The number of changes kept for replay.
+     * @param firstOffset The offset of the first change.
+     */
+    TeamChangeBuffer(int capacity, long firstOffset) {
+        this.changes = new TeamEvent[capacity];
+        this.firstOffset = firstOffset;
+        this.nextOffset = firstOffset;
+    }
+
+    /**
+     * Appends a change, numbering it with the next offset.
+     *
+     * @return The change, with its offset as event ID.
+     */
+    TeamEvent append(TeamEvent change) {
+        lock.lock();
+        try {
+            change.setEventId(nextOffset);
+            changes[(int) (nextOffset % changes.length)] = change;
+            nextOffset++;
+            appended.signalAll();
+            return change;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The offset of the latest change, or the offset before the first change if there is none yet.
+     */
+    long lastOffset() {
+        lock.lock();
+        try {
+            return nextOffset - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether the changes after an offset can all be read, that is whether the offset is neither older than
+     * the oldest change kept nor newer than the latest change.
+     */
+    boolean canReadAfter(long offset) {
+        lock.lock();
+        try {
+            return offset >= oldestOffset() - 1 && offset < nextOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the changes after an offset, waiting for one if there is none yet.
+     *
+     * @param offset  The offset of the last change read.
+     * @param max     The maximum number of changes to return.
+     * @param timeout How long to wait for a change.
+     * @return The changes in offset order, empty if none arrived in time, or null if changes after the
+     * offset were already overwritten or the offset was never reached.
+     */
+    List<TeamEvent> readAfter(long offset, int max, Duration timeout) throws InterruptedException {
+        lock.lock();
+        try {
+            long nanos = timeout.toNanos();
+            while (offset == nextOffset - 1 && nanos > 0) {
+                nanos = appended.awaitNanos(nanos);
+            }
+            if (offset < oldestOffset() - 1 || offset >= nextOffset) {
+                return null;
+            }
+            long end = Math.min(nextOffset, offset + 1 + max);
+            List<TeamEvent> read = new ArrayList<>((int) (end - offset - 1));
+            for (long next = offset + 1; next < end; next++) {
+                read.add(changes[(int) (next % changes.length)]);
+            }
+            return read;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long oldestOffset() {
+        return Math.max(firstOffset, nextOffset - changes.length);
+    }
+}
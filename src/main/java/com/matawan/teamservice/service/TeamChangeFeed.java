@@ -0,0 +1,197 @@
+package com.matawan.teamservice.service;
+
+import com.matawan.teamservice.dtos.response.TeamEvent;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.entity.TeamEventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live feed of the team changes, pushed to Server-Sent Events subscribers. The writes of {@link TeamService}
+ * append their changes to a {@link TeamChangeBuffer} once their transaction has committed; each subscriber
+ * is served by its own virtual thread reading the buffer from its own position, so a writer never waits for
+ * a subscriber. A subscriber falling further behind than the buffer holds is dropped.
+ * <p>
+ * Offsets start at the startup time in microseconds, so that they keep increasing across restarts and a
+ * position from before a restart is recognised as lost rather than replayed from the wrong change.
+ */
+@Service
+@Slf4j
+public class TeamChangeFeed {
+
+    /**
+     * The name of the event telling a subscriber that it missed changes and must reload the teams.
+     */
+    public static final String RESET_EVENT = "RESET";
+
+    private static final int SEND_BATCH_SIZE = 256;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${teamservice.changes.buffer-size:4096}")
+    private int bufferSize;
+
+    @Value("${teamservice.changes.heartbeat-interval-ms:15000}")
+    private long heartbeatIntervalMs;
+
+    private TeamChangeBuffer buffer;
+
+    private final Set<SseEmitter> subscribers = ConcurrentHashMap.newKeySet();
+
+    private Counter droppedSubscribers;
+
+    @PostConstruct
+    void init() {
+        Instant now = Instant.now();
+        buffer = new TeamChangeBuffer(bufferSize, now.getEpochSecond() * 1_000_000 + now.getNano() / 1_000);
+        Gauge.builder("teams.changes.subscribers", subscribers, Set::size)
+                .description("Number of subscribers of the team change feed")
+                .register(meterRegistry);
+        droppedSubscribers = Counter.builder("teams.changes.dropped")
+                .description("Number of subscribers of the team change feed dropped for falling behind")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publishes the creation or change of a team once the current transaction commits.
+     */
+    public void changed(TeamEventType type, TeamResponse team) {
+        AfterCommit.run(() -> buffer.append(TeamEvent.builder()
+                .teamId(team.getId())
+                .type(type)
+                .version(team.getVersion())
+                .occurredAt(Instant.now())
+                .team(team)
+                .build()));
+    }
+
+    /**
+     * Publishes the deletion of a team once the current transaction commits.
+     */
+    public void deleted(Long id) {
+        AfterCommit.run(() -> buffer.append(TeamEvent.builder()
+                .teamId(id)
+                .type(TeamEventType.DELETED)
+                .occurredAt(Instant.now())
+                .build()));
+    }
+
+    /**
+     * Ends the open streams when the application shuts down, before the web server waits for its active
+     * requests to complete. Clients reconnect to another instance with their last event ID.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void onContextClosed() {
+        subscribers.forEach(SseEmitter::complete);
+    }
+
+    /**
+     * The offset of the latest change published.
+     */
+    public long lastOffset() {
+        return buffer.lastOffset();
+    }
+
+    /**
+     * Streams the changes to a subscriber, from the given position. A position that is no longer, or not
+     * yet, in the buffer is answered with a {@value #RESET_EVENT} event, then the changes from the latest one.
+     *
+     * @param emitter      The connection of the subscriber.
+     * @param lastEventId  The offset of the last change the subscriber received, or null for new changes only.
+     * @param includeTeams Whether to send the teams with their changes, or only their IDs and versions.
+     */
+    public void subscribe(SseEmitter emitter, Long lastEventId, boolean includeTeams) {
+        boolean resumable = lastEventId == null || buffer.canReadAfter(lastEventId);
+        long position = resumable && lastEventId != null ? lastEventId : buffer.lastOffset();
+        subscribers.add(emitter);
+        Thread sender = Thread.ofVirtual().name("team-changes").unstarted(() -> {
+            try {
+                if (resumable) {
+                    // commits the response at once, so that the client knows it is subscribed
+                    emitter.send(SseEmitter.event().comment("subscribed after " + position));
+                } else {
+                    sendReset(emitter, position);
+                }
+                stream(emitter, position, includeTeams);
+            } catch (IOException | IllegalStateException e) {
+                // the subscriber disconnected, or its request completed or timed out
+                log.debug("Team change subscriber disconnected: {}", e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                subscribers.remove(emitter);
+            }
+        });
+        Runnable stop = () -> {
+            subscribers.remove(emitter);
+            sender.interrupt();
+        };
+        emitter.onCompletion(stop);
+        emitter.onTimeout(stop);
+        emitter.onError(e -> stop.run());
+        sender.start();
+    }
+
+    private void stream(SseEmitter emitter, long position, boolean includeTeams) throws IOException, InterruptedException {
+        Duration heartbeatInterval = Duration.ofMillis(heartbeatIntervalMs);
+        while (!Thread.currentThread().isInterrupted()) {
+            List<TeamEvent> changes = buffer.readAfter(position, SEND_BATCH_SIZE, heartbeatInterval);
+            if (changes == null) {
+                log.warn("Dropping a team change subscriber at offset {}, more than {} changes behind",
+                        position, bufferSize);
+                droppedSubscribers.increment();
+                sendReset(emitter, buffer.lastOffset());
+                // no longer counted once its stream ends
+                subscribers.remove(emitter);
+                emitter.complete();
+                return;
+            }
+            if (changes.isEmpty()) {
+                // detects the subscribers that went away without a change to send
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+            for (TeamEvent change : changes) {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(change.getEventId()))
+                        .name(change.getType().name())
+                        .data(includeTeams ? change : compact(change), MediaType.APPLICATION_JSON));
+                position = change.getEventId();
+            }
+        }
+    }
+
+    private static void sendReset(SseEmitter emitter, long offset) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(offset))
+                .name(RESET_EVENT)
+                .data("Changes were missed, reload the teams"));
+    }
+
+    private static TeamEvent compact(TeamEvent change) {
+        return TeamEvent.builder()
+                .eventId(change.getEventId())
+                .teamId(change.getTeamId())
+                .type(change.getType())
+                .version(change.getVersion())
+                .occurredAt(change.getOccurredAt())
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.matawan.teamservice.service;
+
+import com.matawan.teamservice.dtos.response.TeamEvent;
+
+import java.util.List;
+
+/**
+ * Receives the changes of the teams relayed from the outbox by {@link TeamOutboxService}. Every sink bean
+ * receives every event.
+ */
+public interface TeamEventSink {
+
+    /**
+     * Publishes a batch of events, in the order of the changes of each team. Events are delivered at least
+     * once: if any sink throws, the whole batch is published again to every sink on the next run.
+     *
+     * @param events The events, in ID order.
+     */
+    void publish(List<TeamEvent> events);
+}
@@ -0,0 +1,23 @@
+package com.matawan.teamservice.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the team outbox in the background, see {@link TeamOutboxService#relay()}. Each run starts the
+ * configured interval after the previous one ended.
+ */
+@Component
+@ConditionalOnProperty(name = "teamservice.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class TeamOutboxRelay {
+
+    @Autowired
+    private TeamOutboxService teamOutboxService;
+
+    @Scheduled(fixedDelayString = "${teamservice.outbox.flush-interval-ms:1000}")
+    public void relay() {
+        teamOutboxService.relay();
+    }
+}
@@ -0,0 +1,165 @@
+package com.matawan.teamservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.matawan.teamservice.dtos.response.TeamEvent;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.entity.TeamEventType;
+import com.matawan.teamservice.entity.TeamOutboxEvent;
+import com.matawan.teamservice.mapper.TeamMapper;
+import com.matawan.teamservice.repository.TeamOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Transactional outbox of the team changes. The writes of {@link TeamService} record their changes within
+ * their own transaction, so an event exists if and only if its change committed; {@link #relay()} then
+ * publishes the recorded events to every {@link TeamEventSink} in batches, and deletes them once published.
+ * <p>
+ * Events are recorded once the team row is written, hence locked, so the events of a team are numbered in
+ * the order of its changes, and published in that order by a single relay at a time. Delivery is at least
+ * once: a batch is deleted only after every sink accepted it, and the events are kept as long as no sink
+ * is registered.
+ */
+@Service
+@Slf4j
+public class TeamOutboxService {
+
+    @Autowired
+    private TeamOutboxRepository teamOutboxRepository;
+
+    @Autowired
+    private ObjectProvider<TeamEventSink> sinks;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${teamservice.outbox.batch-size:100}")
+    private int batchSize;
+
+    /**
+     * Held by the running relay. A lock rather than a monitor, so a virtual thread waiting on the sinks
+     * does not pin its carrier.
+     */
+    private final ReentrantLock relayLock = new ReentrantLock();
+
+    private Counter publishedEvents;
+
+    private Counter failedBatches;
+
+    @PostConstruct
+    void registerMetrics() {
+        publishedEvents = Counter.builder("teams.outbox.published")
+                .description("Number of team events published to the sinks")
+                .register(meterRegistry);
+        failedBatches = Counter.builder("teams.outbox.failures")
+                .description("Number of batches of team events a sink failed to publish")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records the creation of a team.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void created(TeamResponse team) {
+        record(TeamEventType.CREATED, team.getId(), team);
+    }
+
+    /**
+     * Records a change of a team, once the team row is written.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void updated(TeamResponse team) {
+        record(TeamEventType.UPDATED, team.getId(), team);
+    }
+
+    /**
+     * Records the deletion of a team, once the team row is deleted.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleted(Long id) {
+        record(TeamEventType.DELETED, id, null);
+    }
+
+    private void record(TeamEventType type, Long teamId, TeamResponse team) {
+        entityManager.persist(TeamMapper.convertToOutboxEvent(type, teamId, team, objectMapper.writer()));
+    }
+
+    /**
+     * Publishes the recorded events, batch after batch, until the outbox is empty or a sink fails. Each
+     * batch is read in one transaction and deleted in another once published, so no transaction stays
+     * open while the sinks publish. Without any sink, the events are left in the outbox.
+     *
+     * @return The number of events published.
+     */
+    public long relay() {
+        if (sinks.orderedStream().findAny().isEmpty()) {
+            log.debug("No team event sink registered, keeping the team events in the outbox");
+            return 0;
+        }
+        relayLock.lock();
+        try {
+            return relayBatches();
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    private long relayBatches() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ObjectReader teamReader = objectMapper.readerFor(TeamResponse.class);
+        long published = 0;
+        while (true) {
+            List<TeamOutboxEvent> batch = transactionTemplate.execute(status ->
+                    teamOutboxRepository.findByOrderByIdAsc(Limit.of(batchSize)));
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<TeamEvent> events = batch.stream().map(event -> TeamMapper.convertToEvent(event, teamReader)).toList();
+            try {
+                sinks.orderedStream().forEach(sink -> sink.publish(events));
+            } catch (RuntimeException e) {
+                failedBatches.increment();
+                log.warn("Publishing {} team events from ID {} failed, retrying on the next relay",
+                        events.size(), events.getFirst().getEventId(), e);
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                    teamOutboxRepository.deleteAllByIdInBatch(batch.stream().map(TeamOutboxEvent::getId).toList()));
+            publishedEvents.increment(events.size());
+            published += events.size();
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        if (published > 0) {
+            log.info("Published {} team events", published);
+        }
+        return published;
+    }
+}
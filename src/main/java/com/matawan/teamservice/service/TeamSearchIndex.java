@@ -0,0 +1,284 @@
+package com.matawan.teamservice.service;
+
+import com.matawan.teamservice.dtos.response.PlayerResponse;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.dtos.response.TeamSearchHit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index of the teams by the words of their name, acronym, player names and player
+ * positions, lower-cased and without accents. Every substring of up to three characters of a word is a
+ * key of the index, so a searched word of up to three characters is answered by a single lookup and a
+ * longer one by intersecting the teams of its trigrams, the candidates then being checked against their
+ * words. Thread-safe: searches share a read lock, writes take the write lock.
+ */
+final class TeamSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int MAX_QUERY_WORDS = 10;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final int NAME_WEIGHT = 4;
+    private static final int ACRONYM_WEIGHT = 3;
+    private static final int PLAYER_NAME_WEIGHT = 2;
+    private static final int POSITION_WEIGHT = 1;
+
+    /**
+     * A team with the words of its fields, one list of words per player, and all of its words in a single
+     * text to discard the candidates that do not contain a term at once.
+     */
+    private record Document(TeamResponse team, List<String> name, List<String> acronym,
+                            List<List<String>> playerNames, List<List<String>> positions, String text) {
+
+        static Document of(TeamResponse team) {
+            List<PlayerResponse> players = team.getPlayers() == null ? List.of() : team.getPlayers();
+            List<String> name = words(team.getName());
+            List<String> acronym = words(team.getAcronym());
+            List<List<String>> playerNames = players.stream().map(player -> words(player.getName())).toList();
+            List<List<String>> positions = players.stream().map(player -> words(player.getPosition())).toList();
+            StringJoiner text = new StringJoiner(" ");
+            name.forEach(text::add);
+            acronym.forEach(text::add);
+            playerNames.forEach(words -> words.forEach(text::add));
+            positions.forEach(words -> words.forEach(text::add));
+            return new Document(team, name, acronym, playerNames, positions, text.toString());
+        }
+
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            name.forEach(word -> addGrams(word, grams));
+            acronym.forEach(word -> addGrams(word, grams));
+            playerNames.forEach(words -> words.forEach(word -> addGrams(word, grams)));
+            positions.forEach(words -> words.forEach(word -> addGrams(word, grams)));
+            return grams;
+        }
+    }
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexes a team, replacing its previous state. A team older than the indexed one is ignored, so that
+     * writes applied while the index is rebuilt are not overwritten by the rebuild.
+     */
+    void put(TeamResponse team) {
+        Document document = Document.of(team);
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.get(team.getId());
+            if (previous != null) {
+                Long previousVersion = previous.team().getVersion();
+                if (previousVersion != null && team.getVersion() != null && previousVersion > team.getVersion()) {
+                    return;
+                }
+                unindex(previous);
+            }
+            documents.put(team.getId(), document);
+            document.grams().forEach(gram -> postings.computeIfAbsent(gram, key -> new HashSet<>()).add(team.getId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.remove(id);
+            if (previous != null) {
+                unindex(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unindex(Document document) {
+        Long id = document.team().getId();
+        for (String gram : document.grams()) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Finds the teams matching every word of the query, in any of their fields. A word matching a whole
+     * word of a field scores more than one matching its start, itself scoring more than one matching
+     * inside it, and matches on the name outweigh matches on the acronym, player names then positions.
+     * Only the hits of the requested page are built.
+     *
+     * @param query    The words to search, the first {@value #MAX_QUERY_WORDS} only are used.
+     * @param pageable The page to return, its sort is ignored.
+     * @return The matching teams by decreasing score then increasing ID, empty if the query has no word.
+     */
+    Page<TeamSearchHit> search(String query, Pageable pageable) {
+        List<String> terms = words(query).stream().distinct().limit(MAX_QUERY_WORDS).toList();
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        lock.readLock().lock();
+        try {
+            List<ScoredTeam> matches = new ArrayList<>();
+            for (Long id : candidates(terms)) {
+                Document document = documents.get(id);
+                int score = score(document, terms);
+                if (score > 0) {
+                    matches.add(new ScoredTeam(document, score));
+                }
+            }
+            matches.sort(Comparator.comparingInt(ScoredTeam::score).reversed()
+                    .thenComparing(match -> match.document().team().getId()));
+            List<ScoredTeam> page = matches;
+            if (pageable.isPaged()) {
+                int from = (int) Math.min(pageable.getOffset(), matches.size());
+                page = matches.subList(from, Math.min(from + pageable.getPageSize(), matches.size()));
+            }
+            return new PageImpl<>(page.stream().map(match -> toHit(match, terms)).toList(), pageable, matches.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record ScoredTeam(Document document, int score) {
+    }
+
+    /**
+     * The teams having every key of the terms: the term itself if it is short enough to be a key, its
+     * trigrams otherwise. The teams of the rarest key are filtered by the other keys, so words common to
+     * most teams cost little.
+     */
+    private List<Long> candidates(List<String> terms) {
+        List<Set<Long>> keyPostings = new ArrayList<>();
+        for (String term : terms) {
+            if (term.length() <= GRAM_LENGTH) {
+                keyPostings.add(postings.getOrDefault(term, Set.of()));
+            } else {
+                for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+                    keyPostings.add(postings.getOrDefault(term.substring(i, i + GRAM_LENGTH), Set.of()));
+                }
+            }
+        }
+        keyPostings.sort(Comparator.comparingInt(Set::size));
+        List<Long> candidates = new ArrayList<>(keyPostings.getFirst());
+        for (int i = 1; i < keyPostings.size() && !candidates.isEmpty(); i++) {
+            candidates.removeIf(Predicate.not(keyPostings.get(i)::contains));
+        }
+        return candidates;
+    }
+
+    /**
+     * Scores a candidate, the sum of the best match of each term, or 0 if one of the terms is in none of
+     * its words after all.
+     */
+    private static int score(Document document, List<String> terms) {
+        for (String term : terms) {
+            if (!document.text().contains(term)) {
+                return 0;
+            }
+        }
+        int score = 0;
+        for (String term : terms) {
+            int termScore = Math.max(NAME_WEIGHT * quality(document.name(), term),
+                    ACRONYM_WEIGHT * quality(document.acronym(), term));
+            int maxPlayerScore = PLAYER_NAME_WEIGHT * 3;
+            for (int i = 0; i < document.playerNames().size() && termScore < maxPlayerScore; i++) {
+                termScore = Math.max(termScore, playerScore(document, i, term));
+            }
+            if (termScore == 0) {
+                return 0;
+            }
+            score += termScore;
+        }
+        return score;
+    }
+
+    private static int playerScore(Document document, int player, String term) {
+        return Math.max(PLAYER_NAME_WEIGHT * quality(document.playerNames().get(player), term),
+                POSITION_WEIGHT * quality(document.positions().get(player), term));
+    }
+
+    private static TeamSearchHit toHit(ScoredTeam match, List<String> terms) {
+        Document document = match.document();
+        TeamResponse team = document.team();
+        List<PlayerResponse> players = new ArrayList<>();
+        for (int i = 0; i < document.playerNames().size(); i++) {
+            int player = i;
+            if (terms.stream().anyMatch(term -> playerScore(document, player, term) > 0)) {
+                players.add(team.getPlayers().get(i));
+            }
+        }
+        return TeamSearchHit.builder()
+                .id(team.getId())
+                .name(team.getName())
+                .acronym(team.getAcronym())
+                .score(match.score())
+                .matchedPlayers(players)
+                .build();
+    }
+
+    /**
+     * How well a term matches a list of words: 3 for a whole word, 2 for the start of a word, 1 for the
+     * inside of a word and 0 if it is in none.
+     */
+    private static int quality(List<String> words, String term) {
+        int quality = 0;
+        for (String word : words) {
+            if (word.equals(term)) {
+                return 3;
+            }
+            if (word.startsWith(term)) {
+                quality = 2;
+            } else if (quality == 0 && word.contains(term)) {
+                quality = 1;
+            }
+        }
+        return quality;
+    }
+
+    private static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(SEPARATORS.split(normalized)).filter(word -> !word.isEmpty()).toList();
+    }
+
+    private static void addGrams(String word, Set<String> grams) {
+        for (int length = 1; length <= GRAM_LENGTH; length++) {
+            for (int i = 0; i + length <= word.length(); i++) {
+                grams.add(word.substring(i, i + length));
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.matawan.teamservice.service;
+
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.dtos.response.TeamSearchHit;
+import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.mapper.TeamMapper;
+import com.matawan.teamservice.repository.TeamRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Full-text search over the teams, their acronyms and their players, served from a {@link TeamSearchIndex}
+ * held in memory. The index is built from {@link TeamRepository} once the application is ready and kept up
+ * to date by the writes of {@link TeamService}, applied once their transaction has committed.
+ */
+@Service
+@Slf4j
+public class TeamSearchService {
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile TeamSearchIndex index = new TeamSearchIndex();
+
+    /**
+     * The index being rebuilt, which also receives the writes committed meanwhile.
+     */
+    private volatile TeamSearchIndex rebuilding;
+
+    /**
+     * The teams deleted while the index is rebuilt, which the rebuild may still have read.
+     */
+    private final Set<Long> deletedWhileRebuilding = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Held by the running rebuild, which reads all the teams through a database cursor. A lock rather than
+     * a monitor, so a virtual thread waiting on the database does not pin its carrier.
+     */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("teams.search.index.size", this, service -> service.index.size())
+                .description("Number of teams in the search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Searches the teams matching every word of the query, see {@link TeamSearchIndex#search(String, Pageable)}.
+     *
+     * @param query    The words to search, in the name, acronym, player names or positions of the teams.
+     * @param pageable The page to return; the hits are ranked, so its sort is ignored.
+     * @return The page of hits, by decreasing relevance.
+     */
+    @Timed(value = "teams.search", histogram = true)
+    public Page<TeamSearchHit> search(String query, Pageable pageable) {
+        return index.search(query, pageable);
+    }
+
+    /**
+     * Indexes a saved or updated team once the current transaction commits.
+     */
+    public void index(TeamResponse team) {
+        AfterCommit.run(() -> apply(index -> index.put(team)));
+    }
+
+    /**
+     * Removes a deleted team from the index once the current transaction commits.
+     */
+    public void remove(Long id) {
+        AfterCommit.run(() -> {
+            if (rebuilding != null) {
+                deletedWhileRebuilding.add(id);
+            }
+            apply(index -> index.remove(id));
+        });
+    }
+
+    private void apply(Consumer<TeamSearchIndex> write) {
+        write.accept(index);
+        TeamSearchIndex next = rebuilding;
+        if (next != null) {
+            write.accept(next);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Builds a new index from all the teams, read through a database cursor, and swaps it for the current
+     * one, which keeps serving searches meanwhile.
+     *
+     * @return The number of teams indexed.
+     */
+    public long rebuild() {
+        rebuildLock.lock();
+        try {
+            return rebuildIndex();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private long rebuildIndex() {
+        log.info("Rebuilding the team search index");
+        TeamSearchIndex next = new TeamSearchIndex();
+        deletedWhileRebuilding.clear();
+        rebuilding = next;
+        try {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Team> teams = teamRepository.streamAllWithPlayers()) {
+                    Iterator<Team> iterator = teams.iterator();
+                    while (iterator.hasNext()) {
+                        Team team = iterator.next();
+                        next.put(TeamMapper.convertToDto(team));
+                        entityManager.detach(team);
+                    }
+                }
+            });
+            deletedWhileRebuilding.forEach(next::remove);
+            index = next;
+        } finally {
+            rebuilding = null;
+            deletedWhileRebuilding.clear();
+        }
+        log.info("Indexed {} teams for search", next.size());
+        return next.size();
+    }
+}
@@ -1,133 +1,693 @@
 package com.matawan.teamservice.service;
 
+import com.matawan.teamservice.configuration.CacheConfig;
 import com.matawan.teamservice.dtos.request.PlayerRequest;
+import com.matawan.teamservice.dtos.request.TeamCursor;
+import com.matawan.teamservice.dtos.request.TeamFilter;
 import com.matawan.teamservice.dtos.request.TeamRequest;
+import com.matawan.teamservice.dtos.response.BulkImportError;
+import com.matawan.teamservice.dtos.response.BulkImportResponse;
 import com.matawan.teamservice.dtos.response.PlayerResponse;
+import com.matawan.teamservice.dtos.response.TeamBatchGetItem;
+import com.matawan.teamservice.dtos.response.TeamBatchGetResponse;
+import com.matawan.teamservice.dtos.response.TeamBulkChangeResponse;
 import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.dtos.response.TeamSliceResponse;
 import com.matawan.teamservice.entity.Player;
 import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.entity.TeamEventType;
+import com.matawan.teamservice.exception.InvalidCursorException;
+import com.matawan.teamservice.exception.InvalidTeamSelectionException;
+import com.matawan.teamservice.exception.PreconditionFailedException;
+import com.matawan.teamservice.exception.TeamConflictException;
 import com.matawan.teamservice.exception.TeamNotFoundException;
+import com.matawan.teamservice.mapper.TeamMapper;
+import com.matawan.teamservice.repository.TeamQueryRepository;
 import com.matawan.teamservice.repository.TeamRepository;
+import com.matawan.teamservice.repository.TeamVersion;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
+@Timed(value = "teams.service", histogram = true)
 public class TeamService {
 
+    private static final int MAX_SLICE_SIZE = 1000;
+
+    /**
+     * Maximum number of IDs bound to the {@code in} list of a bulk statement.
+     */
+    private static final int BULK_STATEMENT_IDS = 500;
+
+    /**
+     * Upper bound of the first backoff before retrying a conflicting update, in milliseconds.
+     */
+    private static final long UPDATE_BACKOFF_MS = 5;
+
     @Autowired
     private TeamRepository teamRepository;
 
+    @Autowired
+    private TeamQueryRepository teamQueryRepository;
+
+    @Autowired
+    private TeamSummaryService teamSummaryService;
+
+    @Autowired
+    private TeamSearchService teamSearchService;
+
+    @Autowired
+    private TeamOutboxService teamOutboxService;
+
+    @Autowired
+    private TeamChangeFeed teamChangeFeed;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${teamservice.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+
+    @Value("${teamservice.update.max-attempts:3}")
+    private int updateMaxAttempts;
+
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.TEAMS_CACHE, CacheConfig.TEAM_JSON_CACHE}, key = "#result.id")
     public TeamResponse saveTeam(TeamRequest teamRequest) {
         log.info("Saving a new team with name: {}", teamRequest.getName());
-        Team team = convertToEntity(teamRequest);
+        recordRosterSize("save", teamRequest);
+        Team team = TeamMapper.convertToEntity(teamRequest);
         team.getPlayers().forEach(player -> player.setTeam(team));
         Team savedTeam = teamRepository.save(team);
+        TeamResponse teamResponse = TeamMapper.convertToDto(savedTeam);
+        teamSummaryService.insert(teamResponse);
+        teamOutboxService.created(teamResponse);
+        teamChangeFeed.changed(TeamEventType.CREATED, teamResponse);
+        teamSearchService.index(teamResponse);
         log.info("Team saved successfully with ID: {}", savedTeam.getId());
-        return convertToDto(savedTeam);
+        return teamResponse;
+    }
+
+    /**
+     * Imports teams in chunks, each chunk being inserted with JDBC batches and committed in its own
+     * transaction. Invalid teams are reported and skipped; a chunk failing in the database is retried
+     * team by team so that only the offending teams are rejected. Teams are consumed one by one, so
+     * only one chunk is held in memory.
+     *
+     * @param teamRequests The teams to import. Reading stops at the first team that cannot be read.
+     * @return The number of teams received and imported, and the errors by team position.
+     */
+    public BulkImportResponse importTeams(Iterator<TeamRequest> teamRequests) {
+        log.info("Importing teams in chunks of {}", bulkChunkSize);
+        List<BulkImportError> errors = new ArrayList<>();
+        Map<Integer, TeamRequest> chunk = new LinkedHashMap<>();
+        int received = 0;
+        int imported = 0;
+
+        while (true) {
+            TeamRequest teamRequest;
+            try {
+                if (!teamRequests.hasNext()) {
+                    break;
+                }
+                teamRequest = teamRequests.next();
+            } catch (RuntimeException e) {
+                log.warn("Bulk import stopped, team at index {} could not be read", received, e);
+                errors.add(new BulkImportError(received, Map.of("error", "Team could not be read: " + e.getMessage())));
+                break;
+            }
+
+            Map<String, String> violations = validate(teamRequest);
+            if (violations.isEmpty()) {
+                chunk.put(received, teamRequest);
+            } else {
+                errors.add(new BulkImportError(received, violations));
+            }
+            received++;
+
+            if (chunk.size() == bulkChunkSize) {
+                imported += importChunk(chunk, errors);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += importChunk(chunk, errors);
+        }
+
+        log.info("Bulk import done: {} received, {} imported, {} rejected", received, imported, errors.size());
+        return BulkImportResponse.builder()
+                .received(received)
+                .imported(imported)
+                .errors(errors)
+                .build();
+    }
+
+    private Map<String, String> validate(TeamRequest teamRequest) {
+        if (teamRequest == null) {
+            return Map.of("error", "Team cannot be null");
+        }
+        Map<String, String> violations = new LinkedHashMap<>();
+        for (ConstraintViolation<TeamRequest> violation : validator.validate(teamRequest)) {
+            violations.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return violations;
+    }
+
+    /**
+     * Stores a chunk in one transaction, falling back to one transaction per team if it fails.
+     *
+     * @return The number of teams stored.
+     */
+    private int importChunk(Map<Integer, TeamRequest> chunk, List<BulkImportError> errors) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertTeams(chunk.values()));
+            return chunk.size();
+        } catch (DataAccessException e) {
+            log.warn("Bulk import chunk of {} teams failed, retrying team by team", chunk.size(), e);
+        } finally {
+            entityManager.clear();
+        }
+
+        int imported = 0;
+        for (Map.Entry<Integer, TeamRequest> entry : chunk.entrySet()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertTeams(List.of(entry.getValue())));
+                imported++;
+            } catch (DataAccessException e) {
+                // the cause may hold SQL and constraint names, it is logged rather than returned
+                log.warn("Bulk import of the team at index {} failed", entry.getKey(), e);
+                errors.add(new BulkImportError(entry.getKey(), Map.of("error", "Team could not be saved")));
+            } finally {
+                entityManager.clear();
+            }
+        }
+        return imported;
+    }
+
+    private void insertTeams(Iterable<TeamRequest> teamRequests) {
+        List<Team> teams = new ArrayList<>();
+        teamRequests.forEach(teamRequest -> {
+            Team team = TeamMapper.convertToEntity(teamRequest);
+            team.getPlayers().forEach(player -> player.setTeam(team));
+            teams.add(team);
+        });
+        teamRepository.saveAll(teams).forEach(team -> {
+            TeamResponse teamResponse = TeamMapper.convertToDto(team);
+            teamSummaryService.insert(teamResponse);
+            teamOutboxService.created(teamResponse);
+            teamChangeFeed.changed(TeamEventType.CREATED, teamResponse);
+            teamSearchService.index(teamResponse);
+        });
+        teamRepository.flush();
     }
 
-    @Transactional
     public TeamResponse updateTeam(Long id, TeamRequest updatedTeamRequest) {
+        return updateTeam(id, updatedTeamRequest, null);
+    }
+
+    /**
+     * Updates a team if it is still at the expected version. Any change, including a change of the
+     * players only, increments the version and the last modification time; an unchanged team keeps both.
+     * <p>
+     * Each attempt runs in its own transaction and fails if a concurrent update committed since the team was
+     * read, the version of the team being checked by its update. A failed attempt is retried from a fresh
+     * read, after a short random backoff, up to {@code teamservice.update.max-attempts} attempts in all.
+     * Once committed, the updated team replaces the cached one, see {@link #cacheTeam(TeamResponse)}.
+     *
+     * @param id                 The ID of the team.
+     * @param updatedTeamRequest The new state of the team.
+     * @param expectedVersion    The version the client last read, or null to update unconditionally.
+     * @return The updated team, with its new version.
+     * @throws PreconditionFailedException If the team is not at the expected version.
+     * @throws TeamConflictException       If every attempt conflicted with a concurrent change.
+     */
+    public TeamResponse updateTeam(Long id, TeamRequest updatedTeamRequest, Long expectedVersion) {
         log.info("Updating team with ID: {}", id);
+        recordRosterSize("update", updatedTeamRequest);
 
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                TeamResponse updatedTeam = transactionTemplate.execute(status -> applyUpdate(id, updatedTeamRequest, expectedVersion));
+                cacheTeam(updatedTeam);
+                return updatedTeam;
+            } catch (OptimisticLockingFailureException | PessimisticLockingFailureException e) {
+                if (attempt >= updateMaxAttempts) {
+                    recordUpdateConflict("rejected");
+                    log.warn("Team {} still changed concurrently after {} attempts", id, attempt);
+                    throw new TeamConflictException("Team " + id + " was changed concurrently, retry the update", e);
+                }
+                recordUpdateConflict("retried");
+                log.debug("Team {} changed concurrently, retrying the update (attempt {})", id, attempt, e);
+                backOff(id, attempt, e);
+            }
+        }
+    }
+
+    /**
+     * Waits a random time of up to {@value #UPDATE_BACKOFF_MS} ms, doubled at each attempt, so that the
+     * conflicting updates do not retry in lockstep.
+     */
+    private static void backOff(Long id, int attempt, RuntimeException conflict) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(UPDATE_BACKOFF_MS << (attempt - 1)) + 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TeamConflictException("Team " + id + " was changed concurrently, retry the update", conflict);
+        }
+    }
+
+    private void recordUpdateConflict(String outcome) {
+        Counter.builder("teams.update.conflicts")
+                .description("Number of team updates that conflicted with a concurrent change")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private TeamResponse applyUpdate(Long id, TeamRequest updatedTeamRequest, Long expectedVersion) {
         Team existingTeam = teamRepository.findById(id)
                 .orElseThrow(() -> {
                     log.warn("Team not found with ID: {}", id);
                     return new TeamNotFoundException("Team not found by id: " + id);
                 });
+        if (expectedVersion != null && !expectedVersion.equals(existingTeam.getVersion())) {
+            throw new PreconditionFailedException("Team " + id + " is at version " + existingTeam.getVersion()
+                    + ", not " + expectedVersion);
+        }
 
-
-        log.debug("Existing team found: {}", existingTeam);
+        if (log.isDebugEnabled()) {
+            log.debug("Existing team found: {}", existingTeam);
+        }
+        boolean changed = !Objects.equals(existingTeam.getName(), updatedTeamRequest.getName())
+                || !Objects.equals(existingTeam.getAcronym(), updatedTeamRequest.getAcronym())
+                || existingTeam.getBudget() != updatedTeamRequest.getBudget();
         existingTeam.setName(updatedTeamRequest.getName());
         existingTeam.setAcronym(updatedTeamRequest.getAcronym());
         existingTeam.setBudget(updatedTeamRequest.getBudget());
 
-        List<Player> existingPlayers = existingTeam.getPlayers();
-
-        Iterator<Player> iterator = existingPlayers.iterator();
-        while (iterator.hasNext()) {
-            Player player = iterator.next();
-            player.setTeam(null);
-            iterator.remove();
+        changed |= reconcilePlayers(existingTeam, updatedTeamRequest.getPlayers());
+        if (changed) {
+            // also dirties the team when only its players changed, so that its version is incremented
+            existingTeam.setLastModified(Instant.now());
         }
 
-        List<Player> updatedPlayers = convertPlayerRequestsToPlayers(updatedTeamRequest.getPlayers());
-        updatedPlayers.forEach(player -> {
-            player.setTeam(existingTeam);
-            existingPlayers.add(player);
-        });
-
         Team updatedTeam = teamRepository.save(existingTeam);
+        // the version is incremented and the IDs of new players are assigned on flush
+        teamRepository.flush();
+        TeamResponse teamResponse = TeamMapper.convertToDto(updatedTeam);
+        if (changed) {
+            teamSummaryService.update(teamResponse);
+            teamOutboxService.updated(teamResponse);
+            teamChangeFeed.changed(TeamEventType.UPDATED, teamResponse);
+            teamSearchService.index(teamResponse);
+        }
         log.info("Team updated successfully with ID: {}", updatedTeam.getId());
-        return convertToDto(updatedTeam);
+        return teamResponse;
     }
 
-    public Page<TeamResponse> getTeams(Pageable pageable) {
-        log.info("Fetching all teams");
-        Page<TeamResponse> teamResponsePage = teamRepository.findAll(pageable).map(this::convertToDto);
-        log.info("Paginated team response: {}", teamResponsePage);
-        return teamResponsePage;
+    /**
+     * Deletes the teams matching the filters with set-based statements: the IDs of the teams are read
+     * once, then each chunk of {@value #BULK_STATEMENT_IDS} teams is deleted with one statement for their
+     * players, one for their summaries and one for the teams, whatever the size of their rosters.
+     *
+     * @param filter The teams to delete, at least one filter must be set.
+     * @return The number and IDs of the deleted teams.
+     * @throws InvalidTeamSelectionException If no filter is set.
+     */
+    @Transactional
+    public TeamBulkChangeResponse deleteTeams(TeamFilter filter) {
+        log.info("Deleting teams: {}", filter);
+        List<Long> ids = selectTeamIds(filter);
+        for (List<Long> chunk : chunks(ids)) {
+            teamRepository.deletePlayersByTeamIdIn(chunk);
+            teamSummaryService.deleteAll(chunk);
+            teamRepository.deleteTeamsByIdIn(chunk);
+            chunk.forEach(teamOutboxService::deleted);
+        }
+        ids.forEach(id -> {
+            evictTeam(id);
+            teamChangeFeed.deleted(id);
+            teamSearchService.remove(id);
+        });
+        log.info("Deleted {} teams", ids.size());
+        return TeamBulkChangeResponse.builder().count(ids.size()).ids(ids).build();
     }
 
-    public TeamResponse getTeamById(Long id) {
-        log.info("Fetching team with ID: {}", id);
-        Team team = teamRepository.findById(id)
-                .orElseThrow(() -> new TeamNotFoundException("Team not found by id: "+id));
-        log.info("Team found: {}", team);
-        return convertToDto(team);
+    /**
+     * Changes the budget of the teams matching the filters by a percentage, with one statement for the
+     * teams and one for their summaries per chunk of {@value #BULK_STATEMENT_IDS} teams. The version of
+     * every changed team is incremented, and the changed teams are read back for their change events.
+     *
+     * @param filter  The teams to change, at least one filter must be set.
+     * @param percent The change of the budgets, in percent.
+     * @return The number and IDs of the changed teams.
+     * @throws InvalidTeamSelectionException If no filter is set.
+     */
+    @Transactional
+    public TeamBulkChangeResponse adjustBudgets(TeamFilter filter, double percent) {
+        log.info("Changing the budget of teams by {}%: {}", percent, filter);
+        List<Long> ids = selectTeamIds(filter);
+        double factor = 1 + percent / 100;
+        Instant lastModified = Instant.now();
+        for (List<Long> chunk : chunks(ids)) {
+            teamRepository.multiplyBudgets(chunk, factor, lastModified);
+            teamSummaryService.multiplyBudgets(chunk, factor, lastModified);
+            teamQueryRepository.findTeamsByIds(chunk).values().forEach(team -> {
+                teamOutboxService.updated(team);
+                teamChangeFeed.changed(TeamEventType.UPDATED, team);
+            });
+        }
+        ids.forEach(this::evictTeam);
+        log.info("Changed the budget of {} teams", ids.size());
+        return TeamBulkChangeResponse.builder().count(ids.size()).ids(ids).build();
     }
 
-    @Transactional
-    public void deleteTeam(Long id) {
-        log.info("Deleting team with ID: {}", id);
-        if (!teamRepository.existsById(id)) {
-            throw new TeamNotFoundException("Team not found by id: "+id);
+    private List<Long> selectTeamIds(TeamFilter filter) {
+        if (!filter.hasConditions()) {
+            throw new InvalidTeamSelectionException("At least one filter is required to change several teams");
         }
-        teamRepository.deleteById(id);
-        log.info("Team deleted successfully with ID: {}", id);
+        return teamQueryRepository.findTeamIds(filter);
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BULK_STATEMENT_IDS) {
+            chunks.add(ids.subList(from, Math.min(from + BULK_STATEMENT_IDS, ids.size())));
+        }
+        return chunks;
     }
 
-    private TeamResponse convertToDto(Team team) {
-        return TeamResponse.builder()
+    /**
+     * Replaces a team in the {@value CacheConfig#TEAMS_CACHE} cache with its committed state, unless the
+     * cached team is newer, and evicts its JSON, once the current transaction has committed. Evicting the
+     * team instead would let a read started before the commit cache the previous version afterwards, and
+     * a plain put would let a write committed earlier but finishing later put back an older version.
+     * Reads never replace a cached team, they only load a missing one.
+     */
+    private void cacheTeam(TeamResponse team) {
+        // players ordered by ID, like the teams read from the database
+        TeamResponse committedTeam = TeamResponse.builder()
                 .id(team.getId())
                 .name(team.getName())
                 .acronym(team.getAcronym())
                 .budget(team.getBudget())
-                .players(team.getPlayers().stream()
-                        .map(player -> PlayerResponse.builder()
-                                .id(player.getId())
-                                .name(player.getName())
-                                .position(player.getPosition())
-                                .build())
-                        .collect(Collectors.toList()))
+                .version(team.getVersion())
+                .lastModified(team.getLastModified())
+                .players(team.getPlayers().stream().sorted(Comparator.comparing(PlayerResponse::getId)).toList())
                 .build();
+        AfterCommit.run(() -> {
+            Cache teamsCache = cacheManager.getCache(CacheConfig.TEAMS_CACHE);
+            if (teamsCache != null) {
+                nativeMap(teamsCache).merge(team.getId(), committedTeam, (cached, committed) ->
+                        ((TeamResponse) cached).getVersion() > ((TeamResponse) committed).getVersion() ? cached : committed);
+            }
+            // the JSON is serialised again from the cached team, evicted right away as the commit is done
+            Cache teamJsonCache = cacheManager.getCache(CacheConfig.TEAM_JSON_CACHE);
+            if (teamJsonCache != null) {
+                teamJsonCache.evictIfPresent(team.getId());
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentMap<Object, Object> nativeMap(Cache cache) {
+        return ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache()).asMap();
     }
 
-    private Team convertToEntity(TeamRequest teamRequest) {
-        return Team.builder()
-                .name(teamRequest.getName())
-                .acronym(teamRequest.getAcronym())
-                .budget(teamRequest.getBudget())
-                .players(convertPlayerRequestsToPlayers(teamRequest.getPlayers()))
+    /**
+     * Evicts a team from the team caches, once the current transaction has committed.
+     */
+    private void evictTeam(Long id) {
+        for (String cacheName : List.of(CacheConfig.TEAMS_CACHE, CacheConfig.TEAM_JSON_CACHE)) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.evict(id);
+            }
+        }
+    }
+
+    /**
+     * Records the number of players of a saved or updated team.
+     */
+    private void recordRosterSize(String operation, TeamRequest teamRequest) {
+        DistributionSummary.builder("teams.roster.size")
+                .description("Number of players of the saved and updated teams")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(teamRequest.getPlayers().size());
+    }
+
+    /**
+     * Aligns the players of a team with the requested roster, see {@link RosterChanges}.
+     * Unchanged players issue no SQL.
+     *
+     * @return Whether any player was added, removed or changed.
+     */
+    private boolean reconcilePlayers(Team team, List<PlayerRequest> playerRequests) {
+        RosterChanges changes = RosterChanges.between(
+                team.getPlayers().stream().map(Player::getId).toList(), playerRequests);
+        boolean changed = !changes.additions().isEmpty() || !changes.removals().isEmpty();
+
+        Iterator<Player> iterator = team.getPlayers().iterator();
+        while (iterator.hasNext()) {
+            Player player = iterator.next();
+            PlayerRequest playerRequest = changes.updates().get(player.getId());
+            if (playerRequest == null) {
+                player.setTeam(null);
+                iterator.remove();
+            } else {
+                changed |= !Objects.equals(player.getName(), playerRequest.getName())
+                        || !Objects.equals(player.getPosition(), playerRequest.getPosition());
+                // dirty checking only issues an update if a value actually changed
+                player.setName(playerRequest.getName());
+                player.setPosition(playerRequest.getPosition());
+            }
+        }
+
+        TeamMapper.convertPlayerRequestsToPlayers(changes.additions()).forEach(player -> {
+            player.setTeam(team);
+            team.getPlayers().add(player);
+        });
+        return changed;
+    }
+
+    public Page<TeamResponse> getTeams(Pageable pageable) {
+        return getTeams(new TeamFilter(), pageable);
+    }
+
+    /**
+     * Fetches a page of the teams matching the filters, see {@link TeamQueryRepository#findTeams(TeamFilter, Pageable)}.
+     */
+    public Page<TeamResponse> getTeams(TeamFilter filter, Pageable pageable) {
+        log.info("Fetching teams: {} {}", filter, pageable);
+        Page<TeamResponse> teamResponsePage = teamQueryRepository.findTeams(filter, pageable);
+        log.info("Fetched {} of {} teams", teamResponsePage.getNumberOfElements(), teamResponsePage.getTotalElements());
+        if (log.isDebugEnabled()) {
+            log.debug("Paginated team response: {}", teamResponsePage.getContent());
+        }
+        return teamResponsePage;
+    }
+
+    /**
+     * Fetches the teams of a page as rows, each built into a team when it is needed, see
+     * {@link TeamQueryRepository#findTeamRows(TeamFilter, Pageable)}.
+     */
+    public List<Supplier<TeamResponse>> getTeamRows(TeamFilter filter, Pageable pageable) {
+        log.info("Fetching team rows: {} {}", filter, pageable);
+        List<Supplier<TeamResponse>> teamRows = teamQueryRepository.findTeamRows(filter, pageable);
+        log.info("Fetched {} team rows", teamRows.size());
+        return teamRows;
+    }
+
+    /**
+     * Fetches a slice of teams with keyset paging.
+     *
+     * @param cursor The token returned with the previous slice, or null for the first slice.
+     * @param size   The slice size, clamped between 1 and {@value #MAX_SLICE_SIZE}.
+     * @param sort   The order of the first slice; later slices keep the order encoded in the cursor.
+     * @return The slice, with the token of the next slice if there is one.
+     */
+    public TeamSliceResponse scrollTeams(String cursor, int size, Sort sort) {
+        log.info("Fetching teams after cursor: {}", cursor);
+        TeamCursor after = cursor == null ? null : TeamCursor.decode(cursor);
+        Sort.Order order = after != null ? after.order() : sort.stream().findFirst().orElse(Sort.Order.asc("id"));
+        // checks the property of a decoded cursor too, decoding does not
+        if (!TeamQueryRepository.SORT_PROPERTIES.contains(order.getProperty())) {
+            throw new InvalidCursorException("Unsupported sort property for cursor paging: " + order.getProperty());
+        }
+        int sliceSize = Math.clamp(size, 1, MAX_SLICE_SIZE);
+
+        Slice<TeamResponse> slice = teamQueryRepository.findTeamsAfter(order, after, sliceSize);
+        return TeamSliceResponse.builder()
+                .content(slice.getContent())
+                .size(sliceSize)
+                .hasNext(slice.hasNext())
+                .nextCursor(slice.hasNext() ? TeamCursor.after(slice.getContent().getLast(), order).encode() : null)
                 .build();
     }
 
-    private List<Player> convertPlayerRequestsToPlayers(List<PlayerRequest> playerRequests) {
-        return playerRequests.stream()
-                .map(playerRequest -> Player.builder()
-                        .name(playerRequest.getName())
-                        .position(playerRequest.getPosition())
-                        .build())
-                .collect(Collectors.toList());
+    /**
+     * Streams every team with its players to the given consumer, in ID order. Teams are read through a
+     * database cursor and detached once consumed, so memory use does not depend on the number of teams.
+     *
+     * @param consumer Receives each team in turn.
+     * @return The number of teams exported.
+     */
+    @Transactional(readOnly = true)
+    public long exportTeams(Consumer<TeamResponse> consumer) {
+        log.info("Exporting all teams");
+        long exported = 0;
+        try (Stream<Team> teams = teamRepository.streamAllWithPlayers()) {
+            Iterator<Team> iterator = teams.iterator();
+            while (iterator.hasNext()) {
+                Team team = iterator.next();
+                consumer.accept(TeamMapper.convertToDto(team));
+                entityManager.detach(team);
+                exported++;
+            }
+        }
+        log.info("Exported {} teams", exported);
+        return exported;
+    }
+
+    /**
+     * Fetches the version of a team, without loading the team.
+     */
+    public TeamVersion getTeamVersion(Long id) {
+        return teamQueryRepository.findTeamVersion(id)
+                .orElseThrow(() -> new TeamNotFoundException("Team not found by id: " + id));
+    }
+
+    /**
+     * Fetches the versions of the teams of a page, see {@link #getTeams(TeamFilter, Pageable)}.
+     */
+    public Page<TeamVersion> getTeamVersions(TeamFilter filter, Pageable pageable) {
+        return teamQueryRepository.findTeamVersions(filter, pageable);
+    }
+
+    /**
+     * Fetches a team, reading through the {@value CacheConfig#TEAMS_CACHE} cache. Updates replace the
+     * cached team with the one they committed, the other write methods evict it once committed.
+     */
+    @Cacheable(cacheNames = CacheConfig.TEAMS_CACHE, key = "#id", sync = true)
+    public TeamResponse getTeamById(Long id) {
+        log.info("Fetching team with ID: {}", id);
+        TeamResponse team = teamQueryRepository.findTeamById(id)
+                .orElseThrow(() -> new TeamNotFoundException("Team not found by id: "+id));
+        log.info("Team found with ID: {} and {} players", id, team.getPlayers().size());
+        if (log.isDebugEnabled()) {
+            log.debug("Team found: {}", team);
+        }
+        return team;
+    }
+
+    /**
+     * Fetches several teams at once, with two statements whatever their number, see
+     * {@link TeamQueryRepository#findTeamsByIds(java.util.Collection)}. Missing teams are reported in place
+     * instead of failing the whole fetch.
+     *
+     * @param ids The IDs of the teams, possibly repeated.
+     * @return One item per requested ID, in the order of the request.
+     */
+    public TeamBatchGetResponse getTeamsByIds(List<Long> ids) {
+        log.info("Fetching {} teams by ID", ids.size());
+        Map<Long, TeamResponse> teams = teamQueryRepository.findTeamsByIds(new LinkedHashSet<>(ids));
+        List<TeamBatchGetItem> items = new ArrayList<>(ids.size());
+        int found = 0;
+        for (Long id : ids) {
+            TeamResponse team = teams.get(id);
+            if (team != null) {
+                found++;
+            }
+            items.add(TeamBatchGetItem.builder()
+                    .id(id)
+                    .team(team)
+                    .error(team == null ? "Team not found by id: " + id : null)
+                    .build());
+        }
+        log.info("Fetched {} of {} teams by ID", found, ids.size());
+        return TeamBatchGetResponse.builder()
+                .teams(items)
+                .found(found)
+                .missing(ids.size() - found)
+                .build();
+    }
+
+    /**
+     * Deletes a team with three statements whatever the size of its roster: one for its players, one for
+     * its summary and one for the team, whose affected row count tells whether the team existed.
+     *
+     * @param id The ID of the team.
+     * @throws TeamNotFoundException If the team does not exist, nothing being deleted then.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.TEAMS_CACHE, CacheConfig.TEAM_JSON_CACHE}, key = "#id")
+    public void deleteTeam(Long id) {
+        log.info("Deleting team with ID: {}", id);
+        List<Long> ids = List.of(id);
+        teamRepository.deletePlayersByTeamIdIn(ids);
+        teamSummaryService.delete(id);
+        if (teamRepository.deleteTeamsByIdIn(ids) == 0) {
+            throw new TeamNotFoundException("Team not found by id: "+id);
+        }
+        teamOutboxService.deleted(id);
+        teamChangeFeed.deleted(id);
+        teamSearchService.remove(id);
+        log.info("Team deleted successfully with ID: {}", id);
     }
-}
+}
\ No newline at end of file
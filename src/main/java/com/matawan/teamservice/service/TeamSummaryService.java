@@ -0,0 +1,214 @@
+package com.matawan.teamservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.dtos.response.TeamSummaryCheckResponse;
+import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.entity.TeamSummary;
+import com.matawan.teamservice.mapper.TeamMapper;
+import com.matawan.teamservice.repository.TeamRepository;
+import com.matawan.teamservice.repository.TeamSummaryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the {@link TeamSummary} read model. The writes of {@link TeamService} project their teams
+ * within their own transaction; {@link #rebuild()} backfills the summaries of teams written by other means
+ * and {@link #check()} reports the summaries that drifted from their teams.
+ */
+@Service
+@Slf4j
+public class TeamSummaryService {
+
+    private static final int REBUILD_CHUNK_SIZE = 500;
+
+    @Autowired
+    private TeamSummaryRepository teamSummaryRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Inserts the summary of a new team.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void insert(TeamResponse team) {
+        entityManager.persist(summarize(team));
+    }
+
+    /**
+     * Replaces the summary of a team, inserting it if the team had none.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void update(TeamResponse team) {
+        TeamSummary summary = summarize(team);
+        TeamSummary existingSummary = entityManager.find(TeamSummary.class, team.getId());
+        if (existingSummary == null) {
+            entityManager.persist(summary);
+            return;
+        }
+        existingSummary.setName(summary.getName());
+        existingSummary.setAcronym(summary.getAcronym());
+        existingSummary.setBudget(summary.getBudget());
+        existingSummary.setPlayerCount(summary.getPlayerCount());
+        existingSummary.setPlayers(summary.getPlayers());
+        existingSummary.setVersion(summary.getVersion());
+        existingSummary.setLastModified(summary.getLastModified());
+    }
+
+    /**
+     * Deletes the summary of a team, with a single statement.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void delete(Long id) {
+        teamSummaryRepository.deleteAllByIdInBatch(List.of(id));
+    }
+
+    /**
+     * Deletes the summaries of several teams, with a single statement.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteAll(Collection<Long> ids) {
+        teamSummaryRepository.deleteAllByIdInBatch(ids);
+    }
+
+    /**
+     * Applies a budget multiplication to the summaries of several teams, with a single statement, see
+     * {@link TeamSummaryRepository#multiplyBudgets}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void multiplyBudgets(Collection<Long> ids, double factor, Instant lastModified) {
+        teamSummaryRepository.multiplyBudgets(ids, factor, lastModified);
+    }
+
+    /**
+     * Replaces all the summaries with summaries of the current teams, in one transaction. Teams are read
+     * through a database cursor, and teams and summaries are detached chunk by chunk.
+     *
+     * @return The number of summaries written.
+     */
+    @Transactional
+    public long rebuild() {
+        log.info("Rebuilding team summaries");
+        teamSummaryRepository.deleteAllInBatch();
+        long rebuilt = 0;
+        List<TeamSummary> chunk = new ArrayList<>();
+        try (Stream<Team> teams = teamRepository.streamAllWithPlayers()) {
+            Iterator<Team> iterator = teams.iterator();
+            while (iterator.hasNext()) {
+                Team team = iterator.next();
+                TeamSummary summary = summarize(TeamMapper.convertToDto(team));
+                entityManager.persist(summary);
+                entityManager.detach(team);
+                chunk.add(summary);
+                rebuilt++;
+                if (chunk.size() == REBUILD_CHUNK_SIZE) {
+                    entityManager.flush();
+                    chunk.forEach(entityManager::detach);
+                    chunk.clear();
+                }
+            }
+        }
+        log.info("Rebuilt {} team summaries", rebuilt);
+        return rebuilt;
+    }
+
+    /**
+     * Compares every team with its summary, walking both tables in ID order with one cursor each.
+     *
+     * @return The number of teams, of missing, stale and orphaned summaries, and the first inconsistent IDs.
+     */
+    @Transactional(readOnly = true)
+    public TeamSummaryCheckResponse check() {
+        log.info("Checking team summaries");
+        long checked = 0;
+        long missing = 0;
+        long stale = 0;
+        long orphaned = 0;
+        List<Long> inconsistentIds = new ArrayList<>();
+        try (Stream<Team> teamStream = teamRepository.streamAllWithPlayers();
+             Stream<TeamSummary> summaryStream = teamSummaryRepository.streamAll()) {
+            Iterator<Team> teams = teamStream.iterator();
+            Iterator<TeamSummary> summaries = summaryStream.iterator();
+            Team team = next(teams);
+            TeamSummary summary = next(summaries);
+            while (team != null || summary != null) {
+                Long inconsistentId = null;
+                if (summary == null || (team != null && team.getId() < summary.getId())) {
+                    missing++;
+                    inconsistentId = team.getId();
+                    team = next(teams);
+                    checked++;
+                } else if (team == null || summary.getId() < team.getId()) {
+                    orphaned++;
+                    inconsistentId = summary.getId();
+                    summary = next(summaries);
+                } else {
+                    if (!matches(summarize(TeamMapper.convertToDto(team)), summary)) {
+                        stale++;
+                        inconsistentId = team.getId();
+                    }
+                    team = next(teams);
+                    summary = next(summaries);
+                    checked++;
+                }
+                if (inconsistentId != null && inconsistentIds.size() < TeamSummaryCheckResponse.MAX_INCONSISTENT_IDS) {
+                    inconsistentIds.add(inconsistentId);
+                }
+            }
+        }
+        log.info("Checked {} teams: {} missing, {} stale and {} orphaned summaries", checked, missing, stale, orphaned);
+        return TeamSummaryCheckResponse.builder()
+                .teams(checked)
+                .missing(missing)
+                .stale(stale)
+                .orphaned(orphaned)
+                .inconsistentIds(inconsistentIds)
+                .build();
+    }
+
+    /**
+     * Returns the next element, detaching it once read, or null at the end.
+     */
+    private <T> T next(Iterator<T> iterator) {
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        T next = iterator.next();
+        entityManager.detach(next);
+        return next;
+    }
+
+    private TeamSummary summarize(TeamResponse team) {
+        return TeamMapper.convertToSummary(team, objectMapper.writer());
+    }
+
+    private static boolean matches(TeamSummary expected, TeamSummary actual) {
+        return Objects.equals(expected.getName(), actual.getName())
+                && Objects.equals(expected.getAcronym(), actual.getAcronym())
+                && expected.getBudget() == actual.getBudget()
+                && expected.getPlayerCount() == actual.getPlayerCount()
+                && Objects.equals(expected.getPlayers(), actual.getPlayers())
+                && Objects.equals(expected.getVersion(), actual.getVersion())
+                && Objects.equals(expected.getLastModified(), actual.getLastModified());
+    }
+}
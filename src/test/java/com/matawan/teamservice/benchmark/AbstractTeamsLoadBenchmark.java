@@ -0,0 +1,144 @@
+package com.matawan.teamservice.benchmark;
+
+import com.matawan.teamservice.entity.Player;
+import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.repository.TeamRepository;
+import com.matawan.teamservice.service.TeamSummaryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the running server with many concurrent clients over HTTP and reports throughput and
+ * latency percentiles. Subclasses select the request execution mode through their profiles.
+ */
+@Tag("benchmark")
+abstract class AbstractTeamsLoadBenchmark {
+
+    private static final int TEAMS = 200;
+    private static final int PLAYERS_PER_TEAM = 25;
+    private static final int CONCURRENCY = 400;
+    private static final int REQUESTS_PER_CLIENT = 10;
+    private static final int WARMUP_REQUESTS_PER_CLIENT = 2;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${server.servlet.context-path}")
+    private String contextPath;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamSummaryService teamSummaryService;
+
+    private List<Long> teamIds;
+
+    @BeforeEach
+    public void setup() {
+        teamRepository.deleteAll();
+        List<Team> teams = new ArrayList<>();
+        for (int i = 1; i <= TEAMS; i++) {
+            List<Player> players = new ArrayList<>();
+            Team team = Team.builder()
+                    .name("Team " + i)
+                    .acronym("T" + i)
+                    .budget(100000 * i)
+                    .players(players)
+                    .build();
+            for (int j = 1; j <= PLAYERS_PER_TEAM; j++) {
+                players.add(Player.builder().name("Player " + i + "-" + j).position("Position " + j).team(team).build());
+            }
+            teams.add(team);
+        }
+        teamIds = teamRepository.saveAll(teams).stream().map(Team::getId).toList();
+        teamSummaryService.rebuild();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        teamRepository.deleteAll();
+    }
+
+    /**
+     * The label of the execution mode, used in the report.
+     */
+    protected abstract String mode();
+
+    @Test
+    public void loadTeams() throws Exception {
+        try (HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+            run(client, WARMUP_REQUESTS_PER_CLIENT);
+            long start = System.nanoTime();
+            long[] latencies = run(client, REQUESTS_PER_CLIENT);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            System.out.printf("%-16s %d clients: %8.0f req/s, p50 %6.1f ms, p99 %6.1f ms, max %6.1f ms%n",
+                    mode(), CONCURRENCY, latencies.length / seconds,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6);
+        }
+    }
+
+    /**
+     * Runs the clients concurrently, each sending its requests one after the other, alternating between
+     * pages of teams and single teams.
+     *
+     * @return The latency of every request, in nanoseconds.
+     */
+    private long[] run(HttpClient client, int requestsPerClient) throws Exception {
+        long[] latencies = new long[CONCURRENCY * requestsPerClient];
+        AtomicInteger failures = new AtomicInteger();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CONCURRENCY; c++) {
+                int clientIndex = c;
+                futures.add(clients.submit(() -> {
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        String path = r % 2 == 0
+                                ? "/teams?size=10&page=" + random.nextInt(TEAMS / 10)
+                                : "/teams/" + teamIds.get(random.nextInt(teamIds.size()));
+                        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + contextPath + path)).build();
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[clientIndex * requestsPerClient + r] = System.nanoTime() - start;
+                        if (response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        assertThat(failures.get()).isZero();
+        return latencies;
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        return sortedLatencies[(int) Math.ceil(percentile * sortedLatencies.length) - 1] / 1e6;
+    }
+}
@@ -0,0 +1,20 @@
+package com.matawan.teamservice.benchmark;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Load benchmark with the default Tomcat platform thread pool.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class PlatformThreadsLoadBenchmark extends AbstractTeamsLoadBenchmark {
+
+    @Override
+    protected String mode() {
+        return "platform threads";
+    }
+}
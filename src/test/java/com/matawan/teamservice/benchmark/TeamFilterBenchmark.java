@@ -0,0 +1,118 @@
+package com.matawan.teamservice.benchmark;
+
+import com.matawan.teamservice.dtos.request.TeamFilter;
+import com.matawan.teamservice.repository.TeamQueryRepository;
+import com.matawan.teamservice.service.TeamSummaryService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the filters of {@link TeamQueryRepository#findTeams(TeamFilter, Pageable)} against growing numbers
+ * of teams, checking with {@code EXPLAIN} that each filter is served by its index and reporting the
+ * latency, which should stay flat as the number of teams grows.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=false",
+        "logging.level.com.matawan.teamservice=WARN"
+})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TeamFilterBenchmark {
+
+    private static final int[] TEAMS = {1_000, 10_000, 100_000};
+    private static final int PLAYERS_PER_TEAM = 3;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TeamSummaryService teamSummaryService;
+
+    @Autowired
+    private TeamQueryRepository teamQueryRepository;
+
+    @Test
+    public void filtersStayIndexBacked() {
+        Map<String, TeamFilter> filters = new LinkedHashMap<>();
+        filters.put("name prefix", TeamFilter.builder().name("Team 777").build());
+        filters.put("acronym", TeamFilter.builder().acronym("T777").build());
+        filters.put("budget range", TeamFilter.builder().minBudget(777_000.0).maxBudget(787_000.0).build());
+        filters.put("position", TeamFilter.builder().position("Sweeper").build());
+        // the same filters in SQL, for EXPLAIN, with the index each one must use
+        Map<String, String[]> plans = Map.of(
+                "name prefix", new String[]{"select id from team_summary where name like 'Team 777%' escape '\\'",
+                        "IDX_TEAM_SUMMARY_NAME"},
+                "acronym", new String[]{"select id from team_summary where acronym = 'T777'",
+                        "IDX_TEAM_SUMMARY_ACRONYM"},
+                "budget range", new String[]{"select id from team_summary where budget >= 777000.0 and budget <= 787000.0",
+                        "IDX_TEAM_SUMMARY_BUDGET"},
+                "position", new String[]{"select id from team_summary where id in "
+                        + "(select team_id from player where position = 'Sweeper')", "IDX_PLAYER_POSITION_TEAM_ID"});
+        Pageable pageable = PageRequest.of(0, 20);
+
+        for (int teams : TEAMS) {
+            seed(teams);
+            for (Map.Entry<String, TeamFilter> filter : filters.entrySet()) {
+                String[] plan = plans.get(filter.getKey());
+                String explained = String.join("\n", jdbcTemplate.queryForList("explain " + plan[0], String.class));
+                assertThat(explained).as(filter.getKey()).containsIgnoringCase(plan[1]);
+
+                assertThat(teamQueryRepository.findTeams(filter.getValue(), pageable).getContent()).isNotEmpty();
+                long[] latencies = measure(() -> teamQueryRepository.findTeams(filter.getValue(), pageable));
+                System.out.printf("%7d teams, %-12s: mean %7.1f us, p99 %7.1f us%n", teams, filter.getKey(),
+                        Arrays.stream(latencies).average().orElse(0) / 1000,
+                        latencies[(int) (MEASURED_ITERATIONS * 0.99) - 1] / 1000.0);
+            }
+        }
+    }
+
+    /**
+     * Replaces the teams with the given number of teams, inserted in SQL for speed, and rebuilds their
+     * summaries. Every hundredth team has a player in the Sweeper position.
+     */
+    private void seed(int teams) {
+        jdbcTemplate.update("delete from player");
+        jdbcTemplate.update("delete from team_summary");
+        jdbcTemplate.update("delete from team");
+        jdbcTemplate.update("insert into team (id, name, acronym, budget, version, last_modified) "
+                + "select x, 'Team ' || x, 'T' || x, x * 1000.0, 0, current_timestamp from system_range(1, ?)", teams);
+        jdbcTemplate.update("insert into player (id, name, position, team_id) "
+                + "select x, 'Player ' || x, case when mod(x, ?) = 0 then 'Sweeper' else 'Midfielder' end, (x - 1) / ? + 1 "
+                + "from system_range(1, ?)", 100 * PLAYERS_PER_TEAM, PLAYERS_PER_TEAM, teams * PLAYERS_PER_TEAM);
+        jdbcTemplate.execute("analyze");
+        teamSummaryService.rebuild();
+    }
+
+    private static long[] measure(Runnable operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.run();
+        }
+        long[] latencies = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            operation.run();
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+}
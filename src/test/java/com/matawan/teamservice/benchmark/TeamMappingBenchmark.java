@@ -0,0 +1,70 @@
+package com.matawan.teamservice.benchmark;
+
+import com.matawan.teamservice.dtos.request.PlayerRequest;
+import com.matawan.teamservice.dtos.request.TeamRequest;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.entity.Player;
+import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.mapper.TeamMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the conversions of {@link TeamMapper} by roster size.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec@jmh -Djmh.args="-prof gc TeamMappingBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TeamMappingBenchmark {
+
+    @Param({"0", "11", "25", "100"})
+    public int rosterSize;
+
+    private Team team;
+
+    private TeamRequest teamRequest;
+
+    @Setup
+    public void setup() {
+        List<Player> players = new ArrayList<>();
+        List<PlayerRequest> playerRequests = new ArrayList<>();
+        team = Team.builder().id(1L).name("Nice").acronym("NC").budget(1000000.0).players(players).build();
+        for (int i = 1; i <= rosterSize; i++) {
+            players.add(Player.builder().id((long) i).name("Player " + i).position("Midfielder").team(team).build());
+            playerRequests.add(PlayerRequest.builder().name("Player " + i).position("Midfielder").build());
+        }
+        teamRequest = TeamRequest.builder().name("Nice").acronym("NC").budget(1000000.0).players(playerRequests).build();
+    }
+
+    @Benchmark
+    public TeamResponse convertToDto() {
+        return TeamMapper.convertToDto(team);
+    }
+
+    @Benchmark
+    public Team convertToEntity() {
+        return TeamMapper.convertToEntity(teamRequest);
+    }
+
+    @Benchmark
+    public List<Player> convertPlayerRequestsToPlayers() {
+        return TeamMapper.convertPlayerRequestsToPlayers(teamRequest.getPlayers());
+    }
+}
@@ -0,0 +1,209 @@
+package com.matawan.teamservice.benchmark;
+
+import com.matawan.teamservice.controller.TeamController;
+import com.matawan.teamservice.entity.Player;
+import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.repository.TeamRepository;
+import com.matawan.teamservice.service.TeamSummaryService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the {@code GET /teams} pages built in memory before being written with the pages written one
+ * team at a time from their rows, for pages of 100 to 2,000 teams of 25 players, sent as they are and
+ * gzipped. Reports the time to first byte and to last byte, the bytes sent, the bytes allocated per
+ * request, and the peak heap used while concurrent clients read pages of 2,000 teams.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=false",
+        "logging.level.com.matawan.teamservice=WARN"
+})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TeamPageStreamingBenchmark {
+
+    private static final int TEAMS = 2000;
+    private static final int PLAYERS_PER_TEAM = 25;
+    private static final int[] PAGE_SIZES = {100, 1000, 2000};
+    private static final int REQUESTS = 20;
+    private static final int WARMUP_REQUESTS = 10;
+    private static final int CONCURRENCY = 32;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${server.servlet.context-path}")
+    private String contextPath;
+
+    @Autowired
+    private TeamController teamController;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamSummaryService teamSummaryService;
+
+    @Test
+    public void streamLargePages() throws Exception {
+        createTeams();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            for (int pageSize : PAGE_SIZES) {
+                for (boolean streamed : new boolean[]{false, true}) {
+                    streamPagesOf(streamed ? 1 : Integer.MAX_VALUE);
+                    for (String encoding : new String[]{"identity", "gzip"}) {
+                        Result result = measure(client, pageSize, encoding);
+                        System.out.printf("%4d teams, %-8s %-8s: first byte p50 %6.1f ms, last byte p50 %6.1f ms, "
+                                        + "%8d bytes sent, %6.1f MB allocated per request%n",
+                                pageSize, streamed ? "streamed" : "buffered", encoding,
+                                percentile(result.firstByte(), 0.5), percentile(result.lastByte(), 0.5),
+                                result.bytes(), result.allocated() / 1e6);
+                    }
+                }
+            }
+            for (boolean streamed : new boolean[]{false, true}) {
+                streamPagesOf(streamed ? 1 : Integer.MAX_VALUE);
+                System.out.printf("%d clients reading %d teams, %-8s: peak heap used %6.1f MB%n",
+                        CONCURRENCY, TEAMS, streamed ? "streamed" : "buffered", peakHeap(client) / 1e6);
+            }
+        } finally {
+            teamRepository.deleteAll();
+        }
+    }
+
+    private void createTeams() {
+        teamRepository.deleteAll();
+        List<Team> teams = new ArrayList<>();
+        for (int i = 1; i <= TEAMS; i++) {
+            List<Player> players = new ArrayList<>();
+            Team team = Team.builder().name("Team " + i).acronym("T" + i).budget(100000 * i).players(players).build();
+            for (int j = 1; j <= PLAYERS_PER_TEAM; j++) {
+                players.add(Player.builder().name("Player " + i + "-" + j).position("Position " + j).team(team).build());
+            }
+            teams.add(team);
+        }
+        teamRepository.saveAll(teams);
+        teamSummaryService.rebuild();
+    }
+
+    private void streamPagesOf(int minSize) {
+        ReflectionTestUtils.setField(AopTestUtils.<TeamController>getTargetObject(teamController), "pageStreamingMinSize", minSize);
+    }
+
+    private Result measure(HttpClient client, int pageSize, String encoding) throws Exception {
+        for (int r = 0; r < WARMUP_REQUESTS; r++) {
+            get(client, pageSize, encoding, new long[1], new long[1], 0);
+        }
+        long[] firstByte = new long[REQUESTS];
+        long[] lastByte = new long[REQUESTS];
+        long bytes = 0;
+        long allocatedBefore = allocatedBytes();
+        for (int r = 0; r < REQUESTS; r++) {
+            bytes = get(client, pageSize, encoding, firstByte, lastByte, r);
+        }
+        long allocated = (allocatedBytes() - allocatedBefore) / REQUESTS;
+        Arrays.sort(firstByte);
+        Arrays.sort(lastByte);
+        return new Result(firstByte, lastByte, bytes, allocated);
+    }
+
+    /**
+     * Reads a page, recording when its first and its last byte arrived.
+     *
+     * @return The number of bytes read.
+     */
+    private long get(HttpClient client, int pageSize, String encoding, long[] firstByte, long[] lastByte, int index) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + contextPath + "/teams?sort=name&size=" + pageSize))
+                .header(HttpHeaders.ACCEPT_ENCODING, encoding)
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(response.statusCode()).isEqualTo(200);
+        long bytes = 0;
+        try (InputStream body = response.body()) {
+            byte[] buffer = new byte[8192];
+            int read = body.read(buffer);
+            firstByte[index] = System.nanoTime() - start;
+            while (read >= 0) {
+                bytes += read;
+                read = body.read(buffer);
+            }
+        }
+        lastByte[index] = System.nanoTime() - start;
+        return bytes;
+    }
+
+    /**
+     * The heap used at its highest, sampled every millisecond, while concurrent clients read the largest page.
+     */
+    private long peakHeap(HttpClient client) throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        AtomicLong peak = new AtomicLong();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (running.get()) {
+                peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CONCURRENCY; c++) {
+                futures.add(clients.submit(() -> get(client, TEAMS, "identity", new long[1], new long[1], 0)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            running.set(false);
+            sampler.join();
+        }
+        return peak.get();
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getTotalThreadAllocatedBytes();
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1] / 1e6;
+    }
+
+    private record Result(long[] firstByte, long[] lastByte, long bytes, long allocated) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.matawan.teamservice.benchmark;
+
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.entity.Player;
+import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.mapper.TeamMapper;
+import com.matawan.teamservice.repository.TeamQueryRepository;
+import com.matawan.teamservice.repository.TeamRepository;
+import com.matawan.teamservice.service.TeamSummaryService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the entity read path (hydrate {@link Team} and {@link Player}, then copy into DTOs)
+ * with the projection read path of {@link TeamQueryRepository}.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TeamReadPathBenchmark {
+
+    private static final int TEAMS = 200;
+    private static final int PLAYERS_PER_TEAM = 25;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 1000;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamSummaryService teamSummaryService;
+
+    @Autowired
+    private TeamQueryRepository teamQueryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeEach
+    public void setup() {
+        teamRepository.deleteAll();
+        List<Team> teams = new ArrayList<>();
+        for (int i = 1; i <= TEAMS; i++) {
+            List<Player> players = new ArrayList<>();
+            Team team = Team.builder()
+                    .name("Team " + i)
+                    .acronym("T" + i)
+                    .budget(100000 * i)
+                    .players(players)
+                    .build();
+            for (int j = 1; j <= PLAYERS_PER_TEAM; j++) {
+                players.add(Player.builder().name("Player " + i + "-" + j).position("Position " + j).team(team).build());
+            }
+            teams.add(team);
+        }
+        teamRepository.saveAll(teams);
+        teamSummaryService.rebuild();
+    }
+
+    @Test
+    public void compareEntityAndProjectionPaths() {
+        Pageable pageable = PageRequest.of(0, 50);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Supplier<Page<TeamResponse>> entityPath = () -> readOnly.execute(status ->
+                findAllWithPlayers(pageable).map(TeamMapper::convertToDto));
+        Supplier<Page<TeamResponse>> projectionPath = () -> teamQueryRepository.findTeams(pageable);
+
+        assertThat(projectionPath.get().getContent())
+                .usingRecursiveFieldByFieldElementComparator()
+                .isEqualTo(entityPath.get().getContent());
+
+        Result entity = measure("entity", entityPath);
+        Result projection = measure("projection", projectionPath);
+
+        System.out.println(entity);
+        System.out.println(projection);
+        System.out.printf("projection/entity: latency %.2f, allocation %.2f%n",
+                projection.meanNanos() / entity.meanNanos(), projection.bytesPerOp() / entity.bytesPerOp());
+    }
+
+    /**
+     * Loads a page of teams with their players initialised in a fixed number of statements, whatever the
+     * page size: the page of IDs, the count, then the teams with their players.
+     */
+    private Page<Team> findAllWithPlayers(Pageable pageable) {
+        List<Long> ids = entityManager.createQuery("select t.id from Team t order by t.id", Long.class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        long total = entityManager.createQuery("select count(t) from Team t", Long.class).getSingleResult();
+        Map<Long, Team> teamsById = ids.isEmpty() ? Map.of() : entityManager
+                .createQuery("select distinct t from Team t left join fetch t.players where t.id in :ids", Team.class)
+                .setParameter("ids", ids)
+                .getResultStream()
+                .collect(Collectors.toMap(Team::getId, Function.identity()));
+        return new PageImpl<>(ids.stream().map(teamsById::get).toList(), pageable, total);
+    }
+
+    private static Result measure(String name, Supplier<?> operation) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.get();
+        }
+        long[] latencies = new long[MEASURED_ITERATIONS];
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            operation.get();
+            latencies[i] = System.nanoTime() - start;
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        Arrays.sort(latencies);
+        return new Result(name, Arrays.stream(latencies).average().orElse(0),
+                latencies[(int) (MEASURED_ITERATIONS * 0.99) - 1], (double) allocated / MEASURED_ITERATIONS);
+    }
+
+    private record Result(String name, double meanNanos, long p99Nanos, double bytesPerOp) {
+
+        @Override
+        public String toString() {
+            return String.format("%-10s mean %8.1f us, p99 %8.1f us, %10.0f bytes/op",
+                    name, meanNanos / 1000, p99Nanos / 1000.0, bytesPerOp);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.matawan.teamservice.benchmark;
+
+import com.matawan.teamservice.service.TeamSearchService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures {@link TeamSearchService#search(String, Pageable)} over 10,000 teams of 25 players, with
+ * queries on a team name, partial player names, a position and several words.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=false",
+        "logging.level.com.matawan.teamservice=WARN"
+})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TeamSearchBenchmark {
+
+    private static final int TEAMS = 10_000;
+    private static final int PLAYERS_PER_TEAM = 25;
+    private static final int WARMUP_ITERATIONS = 2000;
+    private static final int MEASURED_ITERATIONS = 10_000;
+    private static final List<String> QUERIES = List.of("Team 7777", "424", "42424", "sweep", "player 12345 midfielder");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TeamSearchService teamSearchService;
+
+    @Test
+    public void searchTeams() {
+        jdbcTemplate.update("insert into team (id, name, acronym, budget, version, last_modified) "
+                + "select x, 'Team ' || x, 'T' || x, x * 1000.0, 0, current_timestamp from system_range(1, ?)", TEAMS);
+        jdbcTemplate.update("insert into player (id, name, position, team_id) "
+                + "select x, 'Player ' || x, case when mod(x, 1000) = 0 then 'Sweeper' else 'Midfielder' end, (x - 1) / ? + 1 "
+                + "from system_range(1, ?)", PLAYERS_PER_TEAM, TEAMS * PLAYERS_PER_TEAM);
+        long start = System.nanoTime();
+        assertThat(teamSearchService.rebuild()).isEqualTo(TEAMS);
+        System.out.printf("Indexed %d teams of %d players in %d ms%n", TEAMS, PLAYERS_PER_TEAM,
+                (System.nanoTime() - start) / 1_000_000);
+
+        Pageable pageable = PageRequest.of(0, 20);
+        for (String query : QUERIES) {
+            long total = teamSearchService.search(query, pageable).getTotalElements();
+            assertThat(total).as(query).isPositive();
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                teamSearchService.search(query, pageable);
+            }
+            long[] latencies = new long[MEASURED_ITERATIONS];
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                long queryStart = System.nanoTime();
+                teamSearchService.search(query, pageable);
+                latencies[i] = System.nanoTime() - queryStart;
+            }
+            Arrays.sort(latencies);
+            System.out.printf("%-24s %5d hits: p50 %7.1f us, p99 %7.1f us%n", "\"" + query + "\"", total,
+                    latencies[MEASURED_ITERATIONS / 2] / 1000.0, latencies[(int) (MEASURED_ITERATIONS * 0.99) - 1] / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.matawan.teamservice.benchmark;
+
+import com.matawan.teamservice.TeamserviceApplication;
+import com.matawan.teamservice.dtos.request.PlayerRequest;
+import com.matawan.teamservice.dtos.request.TeamRequest;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.service.TeamService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of {@link TeamService} end to end, through the transactions, Hibernate and the embedded
+ * H2 database of the test profile.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec@jmh -Djmh.args="-prof gc TeamServiceBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TeamServiceBenchmark {
+
+    private static final int TEAMS = 200;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"11", "25"})
+    public int rosterSize;
+
+    private ConfigurableApplicationContext context;
+
+    private TeamService teamService;
+
+    private TeamRequest newTeam;
+
+    private Long updatedTeamId;
+
+    private final TeamRequest[] updates = new TeamRequest[2];
+
+    private final List<Long> savedTeamIds = new ArrayList<>();
+
+    private int operations;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(TeamserviceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.com.matawan.teamservice=WARN");
+        teamService = context.getBean(TeamService.class);
+
+        for (int i = 1; i <= TEAMS; i++) {
+            teamService.saveTeam(teamRequest("Team " + i, "Midfielder", null));
+        }
+        newTeam = teamRequest("New team", "Midfielder", null);
+
+        TeamResponse updatedTeam = teamService.saveTeam(teamRequest("Updated team", "Midfielder", null));
+        updatedTeamId = updatedTeam.getId();
+        // alternate between two positions, so every update changes every player
+        updates[0] = teamRequest("Updated team", "Defender", updatedTeam);
+        updates[1] = teamRequest("Updated team", "Midfielder", updatedTeam);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteSavedTeams() {
+        savedTeamIds.forEach(teamService::deleteTeam);
+        savedTeamIds.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TeamResponse saveTeam() {
+        TeamResponse team = teamService.saveTeam(newTeam);
+        savedTeamIds.add(team.getId());
+        return team;
+    }
+
+    @Benchmark
+    public Page<TeamResponse> getTeams() {
+        return teamService.getTeams(PageRequest.of(operations++ % (TEAMS / PAGE_SIZE), PAGE_SIZE));
+    }
+
+    @Benchmark
+    public TeamResponse updateTeam() {
+        return teamService.updateTeam(updatedTeamId, updates[operations++ % 2]);
+    }
+
+    /**
+     * Builds a team request with the roster size of the benchmark. With a current team, the requested
+     * players keep the IDs of its players.
+     */
+    private TeamRequest teamRequest(String name, String position, TeamResponse current) {
+        List<PlayerRequest> players = new ArrayList<>();
+        for (int i = 0; i < rosterSize; i++) {
+            players.add(PlayerRequest.builder()
+                    .id(current == null ? null : current.getPlayers().get(i).getId())
+                    .name(name + " player " + i)
+                    .position(position)
+                    .build());
+        }
+        return TeamRequest.builder()
+                .name(name)
+                .acronym("T")
+                .budget(1000000.0)
+                .players(players)
+                .build();
+    }
+}
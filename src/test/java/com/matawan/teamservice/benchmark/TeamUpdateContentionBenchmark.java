@@ -0,0 +1,178 @@
+package com.matawan.teamservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.teamservice.dtos.request.PlayerRequest;
+import com.matawan.teamservice.dtos.request.TeamRequest;
+import com.matawan.teamservice.entity.Player;
+import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.repository.TeamRepository;
+import com.matawan.teamservice.service.TeamSummaryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends concurrent {@code PUT /teams/{id}} requests on a shrinking number of hot teams and reports the
+ * throughput, the latency percentiles and the share of attempts retried and of updates rejected with
+ * 409 Conflict by the optimistic locking of the teams.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=false",
+        "logging.level.com.matawan.teamservice=WARN"
+})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TeamUpdateContentionBenchmark {
+
+    private static final int[] HOT_TEAMS = {100, 10, 1};
+    private static final int CONCURRENCY = 100;
+    private static final int UPDATES_PER_CLIENT = 10;
+    private static final int PLAYERS_PER_TEAM = 25;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${server.servlet.context-path}")
+    private String contextPath;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamSummaryService teamSummaryService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void updateHotTeams() throws Exception {
+        try (HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+            // warms up the update path without contention
+            run(client, createTeams(CONCURRENCY), 2);
+            for (int hotTeams : HOT_TEAMS) {
+                List<Long> teamIds = createTeams(hotTeams);
+                double retriedBefore = conflicts("retried");
+                long start = System.nanoTime();
+                Result result = run(client, teamIds, UPDATES_PER_CLIENT);
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                int updates = result.latencies().length;
+                Arrays.sort(result.latencies());
+                System.out.printf("%3d hot teams, %d clients: %6.0f updates/s, p50 %6.1f ms, p99 %6.1f ms, "
+                                + "%5.1f%% attempts retried, %5.1f%% rejected, %d errors%n",
+                        hotTeams, CONCURRENCY, updates / seconds,
+                        percentile(result.latencies(), 0.50), percentile(result.latencies(), 0.99),
+                        100 * (conflicts("retried") - retriedBefore) / updates,
+                        100.0 * result.rejected() / updates, result.errors());
+                assertThat(result.errors()).isZero();
+            }
+        } finally {
+            teamRepository.deleteAll();
+        }
+    }
+
+    private List<Long> createTeams(int count) {
+        teamRepository.deleteAll();
+        List<Team> teams = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            List<Player> players = new ArrayList<>();
+            Team team = Team.builder().name("Team " + i).acronym("T" + i).budget(100000 * i).players(players).build();
+            for (int j = 1; j <= PLAYERS_PER_TEAM; j++) {
+                players.add(Player.builder().name("Player " + i + "-" + j).position("Position " + j).team(team).build());
+            }
+            teams.add(team);
+        }
+        List<Long> teamIds = teamRepository.saveAll(teams).stream().map(Team::getId).toList();
+        teamSummaryService.rebuild();
+        return teamIds;
+    }
+
+    /**
+     * Runs the clients concurrently, each updating random teams one after the other, changing the
+     * budget and the position of a player.
+     */
+    private Result run(HttpClient client, List<Long> teamIds, int updatesPerClient) throws Exception {
+        long[] latencies = new long[CONCURRENCY * updatesPerClient];
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CONCURRENCY; c++) {
+                int clientIndex = c;
+                futures.add(clients.submit(() -> {
+                    for (int r = 0; r < updatesPerClient; r++) {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        Long id = teamIds.get(random.nextInt(teamIds.size()));
+                        List<PlayerRequest> players = new ArrayList<>();
+                        for (int j = 1; j <= PLAYERS_PER_TEAM; j++) {
+                            players.add(PlayerRequest.builder().name("Player " + j)
+                                    .position(j == 1 ? "Position " + clientIndex + "-" + r : "Position " + j).build());
+                        }
+                        TeamRequest update = TeamRequest.builder().name("Team " + id).acronym("T" + id)
+                                .budget(random.nextDouble(1, 1000000)).players(players).build();
+                        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + contextPath + "/teams/" + id))
+                                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                                .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(update)))
+                                .build();
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[clientIndex * updatesPerClient + r] = System.nanoTime() - start;
+                        if (response.statusCode() == 409) {
+                            rejected.incrementAndGet();
+                        } else if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return new Result(latencies, rejected.get(), errors.get());
+    }
+
+    private double conflicts(String outcome) {
+        return Search.in(meterRegistry).name("teams.update.conflicts").tag("outcome", outcome).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        return sortedLatencies[(int) Math.ceil(percentile * sortedLatencies.length) - 1] / 1e6;
+    }
+
+    private record Result(long[] latencies, int rejected, int errors) {
+    }
+}
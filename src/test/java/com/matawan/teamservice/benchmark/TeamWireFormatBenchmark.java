@@ -0,0 +1,112 @@
+package com.matawan.teamservice.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.matawan.teamservice.configuration.BinaryFormatConfig;
+import com.matawan.teamservice.dtos.response.PlayerResponse;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the encoding and decoding of {@code GET /teams} pages of 10 to 1,000 teams of 25 players
+ * in JSON and in the binary formats of {@link BinaryFormatConfig}, with mappers set up like the application's.
+ * The payload size of each page is printed before its measurements.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec@jmh -Djmh.args="-prof gc TeamWireFormatBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TeamWireFormatBenchmark {
+
+    private static final int PLAYERS_PER_TEAM = 25;
+
+    @Param({"10", "100", "1000"})
+    public int pageSize;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private Page<TeamResponse> page;
+
+    private ObjectWriter writer;
+
+    private ObjectReader reader;
+
+    private byte[] payload;
+
+    @Setup
+    public void setup() throws IOException {
+        List<TeamResponse> teams = new ArrayList<>();
+        for (int i = 1; i <= pageSize; i++) {
+            List<PlayerResponse> players = new ArrayList<>();
+            for (int j = 1; j <= PLAYERS_PER_TEAM; j++) {
+                players.add(PlayerResponse.builder().id((long) i * PLAYERS_PER_TEAM + j)
+                        .name("Player " + i + "-" + j).position("Midfielder").build());
+            }
+            teams.add(TeamResponse.builder().id((long) i).name("Team " + i).acronym("T" + i)
+                    .budget(100000.0 * i).players(players).build());
+        }
+        page = new PageImpl<>(teams, PageRequest.of(0, pageSize), 100_000);
+
+        ObjectMapper mapper = new Jackson2ObjectMapperBuilder()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .factory(factory())
+                .build();
+        writer = mapper.writer();
+        reader = mapper.readerFor(TeamPage.class);
+        payload = encode();
+        System.out.printf("%n%s page of %d teams: %d bytes%n", format, pageSize, payload.length);
+    }
+
+    private JsonFactory factory() {
+        return switch (format) {
+            case "json" -> new JsonFactory();
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> throw new IllegalArgumentException(format);
+        };
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public TeamPage decode() throws IOException {
+        return reader.readValue(payload);
+    }
+
+    /**
+     * The page as a client reads it.
+     */
+    public record TeamPage(List<TeamResponse> content, long totalElements, int totalPages) {
+    }
+}
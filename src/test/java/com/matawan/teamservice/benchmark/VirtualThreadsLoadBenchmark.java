@@ -0,0 +1,20 @@
+package com.matawan.teamservice.benchmark;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Load benchmark with the virtual-threads profile, to compare with {@link PlatformThreadsLoadBenchmark}.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.jpa.show-sql=false")
+@ActiveProfiles({"test", "virtual-threads"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class VirtualThreadsLoadBenchmark extends AbstractTeamsLoadBenchmark {
+
+    @Override
+    protected String mode() {
+        return "virtual threads";
+    }
+}
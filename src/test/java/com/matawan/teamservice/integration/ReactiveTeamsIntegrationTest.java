@@ -0,0 +1,383 @@
+package com.matawan.teamservice.integration;
+
+import com.matawan.teamservice.dtos.request.PlayerRequest;
+import com.matawan.teamservice.dtos.request.TeamRequest;
+import com.matawan.teamservice.dtos.response.PlayerResponse;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.entity.Player;
+import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.entity.TeamEventType;
+import com.matawan.teamservice.entity.TeamOutboxEvent;
+import com.matawan.teamservice.repository.TeamOutboxRepository;
+import com.matawan.teamservice.repository.TeamRepository;
+import com.matawan.teamservice.service.TeamSummaryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles({"reactive", "test"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ReactiveTeamsIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.webflux.base-path}")
+    private String basePath;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamSummaryService teamSummaryService;
+
+    @Autowired
+    private TeamOutboxRepository teamOutboxRepository;
+
+    private WebTestClient webTestClient;
+
+    private Team team;
+
+    @BeforeEach
+    public void setup() {
+        webTestClient = WebTestClient.bindToServer().baseUrl("http://localhost:" + port + basePath).build();
+        teamRepository.deleteAll();
+        List<Player> players = new ArrayList<>();
+        Team newTeam = Team.builder()
+                .name("Nice")
+                .acronym("NC")
+                .players(players)
+                .budget(1000000.00)
+                .build();
+        players.add(Player.builder().name("Player 1").position("Goalkeeper").team(newTeam).build());
+        players.add(Player.builder().name("Player 2").position("Defender").team(newTeam).build());
+        team = teamRepository.save(newTeam);
+        for (int i = 1; i <= 11; i++) {
+            teamRepository.save(Team.builder().name("Team " + i).acronym("T" + i).budget(1000.0 * i).players(new ArrayList<>()).build());
+        }
+    }
+
+    @AfterEach
+    public void cleanup() {
+        teamRepository.deleteAll();
+        teamOutboxRepository.deleteAll();
+    }
+
+    @Test
+    public void testCreateTeam() {
+        TeamRequest teamRequest = TeamRequest.builder()
+                .name("OGC Nice")
+                .acronym("OGCN")
+                .budget(5000000.0)
+                .players(List.of(PlayerRequest.builder().name("Messi").position("Forward").build()))
+                .build();
+
+        TeamResponse created = webTestClient.post().uri("/teams")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(teamRequest)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(TeamResponse.class)
+                .returnResult().getResponseBody();
+
+        assertThat(created.getId()).isNotNull();
+        assertThat(created.getPlayers()).singleElement().satisfies(player -> {
+            assertThat(player.getId()).isNotNull();
+            assertThat(player.getName()).isEqualTo("Messi");
+        });
+        // written through R2DBC, visible to the JPA stack
+        assertThat(teamRepository.findById(created.getId())).get()
+                .extracting(Team::getName).isEqualTo("OGC Nice");
+    }
+
+    @Test
+    public void testCreateInvalidTeamReturnsFieldErrors() {
+        TeamRequest teamRequest = TeamRequest.builder()
+                .acronym("NN")
+                .budget(10.0)
+                .players(List.of())
+                .build();
+
+        webTestClient.post().uri("/teams")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(teamRequest)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Team name cannot be empty or null")
+                .jsonPath("$.length()").isEqualTo(1);
+    }
+
+    @Test
+    public void testGetTeamById() {
+        webTestClient.get().uri("/teams/{id}", team.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Nice")
+                .jsonPath("$.players.length()").isEqualTo(2)
+                .jsonPath("$.players[0].name").isEqualTo("Player 1");
+    }
+
+    @Test
+    public void testGetTeamByIdIsConditional() {
+        webTestClient.get().uri("/teams/{id}", team.getId())
+                .header(HttpHeaders.ACCEPT_ENCODING, "identity")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectHeader().exists(HttpHeaders.LAST_MODIFIED);
+
+        webTestClient.get().uri("/teams/{id}", team.getId())
+                .header(HttpHeaders.ACCEPT_ENCODING, "identity")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isNotModified();
+        // the gzipped representation has its own ETag
+        webTestClient.get().uri("/teams/{id}", team.getId())
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0-gzip\"")
+                .exchange()
+                .expectStatus().isNotModified();
+        webTestClient.get().uri("/teams?size=5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.ETAG, etag -> assertThat(etag).startsWith("W/\""));
+    }
+
+    @Test
+    public void testUpdateHonoursIfMatch() {
+        TeamRequest teamRequest = TeamRequest.builder().name("Nice Updated").acronym("NC").budget(1000000.0)
+                .players(List.of()).build();
+
+        webTestClient.put().uri("/teams/{id}", team.getId())
+                .header(HttpHeaders.IF_MATCH, "\"5\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(teamRequest)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED)
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Team " + team.getId() + " is at version 0, not 5");
+        assertThat(teamRepository.findById(team.getId()).orElseThrow().getName()).isEqualTo("Nice");
+
+        webTestClient.put().uri("/teams/{id}", team.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0-gzip\"")
+                .header(HttpHeaders.ACCEPT_ENCODING, "identity")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(teamRequest)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectHeader().exists(HttpHeaders.LAST_MODIFIED);
+
+        // the update is now based on a stale version
+        webTestClient.put().uri("/teams/{id}", team.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(teamRequest)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        webTestClient.put().uri("/teams/{id}", team.getId())
+                .header(HttpHeaders.IF_MATCH, "W/\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(teamRequest)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    public void testGetUnknownTeamReturnsNotFound() {
+        webTestClient.get().uri("/teams/{id}", -1)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Team not found by id: -1");
+    }
+
+    @Test
+    public void testGetTeamsPage() {
+        webTestClient.get().uri("/teams?page=1&size=5&sort=budget,desc")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(5)
+                .jsonPath("$.content[0].name").isEqualTo("Team 7")
+                .jsonPath("$.totalElements").isEqualTo(12)
+                .jsonPath("$.totalPages").isEqualTo(3);
+    }
+
+    @Test
+    public void testFilterTeams() {
+        webTestClient.get().uri("/teams?name=Team 1&minBudget=5000")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(2)
+                .jsonPath("$.content[0].acronym").isEqualTo("T10")
+                .jsonPath("$.totalElements").isEqualTo(2);
+        webTestClient.get().uri("/teams?position=Goalkeeper")
+                .exchange()
+                .expectBody()
+                .jsonPath("$.content[0].name").isEqualTo("Nice")
+                .jsonPath("$.totalElements").isEqualTo(1);
+        webTestClient.get().uri("/teams?ids={id}", team.getId())
+                .exchange()
+                .expectBody()
+                .jsonPath("$.content[0].name").isEqualTo("Nice")
+                .jsonPath("$.totalElements").isEqualTo(1);
+        webTestClient.get().uri("/teams?minBudget=5&maxBudget=1")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void testUnknownSortIsRejected() {
+        webTestClient.get().uri("/teams?sort=players")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Teams cannot be sorted by players");
+    }
+
+    @Test
+    public void testStreamTeamsAsNdjson() {
+        List<TeamResponse> teams = webTestClient.get().uri("/teams?size=20")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(TeamResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(teams).hasSize(12);
+        assertThat(teams.getFirst().getPlayers()).extracting(PlayerResponse::getName)
+                .containsExactly("Player 1", "Player 2");
+    }
+
+    @Test
+    public void testUpdateTeamReconcilesPlayers() {
+        Long keptId = team.getPlayers().get(1).getId();
+        TeamRequest teamRequest = TeamRequest.builder()
+                .name("Nice Updated")
+                .acronym("NCU")
+                .budget(1200000.0)
+                .players(List.of(
+                        PlayerRequest.builder().id(keptId).name("Player 2").position("Midfielder").build(),
+                        PlayerRequest.builder().name("Newcomer").position("Forward").build()))
+                .build();
+
+        TeamResponse updated = webTestClient.put().uri("/teams/{id}", team.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(teamRequest)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TeamResponse.class)
+                .returnResult().getResponseBody();
+
+        assertThat(updated.getName()).isEqualTo("Nice Updated");
+        assertThat(updated.getPlayers()).hasSize(2);
+        assertThat(updated.getPlayers().getFirst().getId()).isEqualTo(keptId);
+        assertThat(updated.getPlayers().getFirst().getPosition()).isEqualTo("Midfielder");
+        assertThat(updated.getPlayers().getLast().getName()).isEqualTo("Newcomer");
+    }
+
+    @Test
+    public void testUpdateKeepsVersionOfUnchangedTeam() {
+        List<PlayerRequest> players = team.getPlayers().stream()
+                .map(player -> PlayerRequest.builder().id(player.getId()).name(player.getName()).position(player.getPosition()).build())
+                .toList();
+        TeamRequest unchanged = TeamRequest.builder().name("Nice").acronym("NC").budget(1000000.0).players(players).build();
+        webTestClient.put().uri("/teams/{id}", team.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(unchanged)
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(teamRepository.findById(team.getId()).orElseThrow().getVersion()).isZero();
+        assertThat(teamOutboxRepository.count()).isZero();
+
+        // a change of a player only is a change of the team
+        TeamRequest moved = TeamRequest.builder().name("Nice").acronym("NC").budget(1000000.0)
+                .players(List.of(players.getFirst(), PlayerRequest.builder().id(players.getLast().getId())
+                        .name("Player 2").position("Midfielder").build()))
+                .build();
+        webTestClient.put().uri("/teams/{id}", team.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(moved)
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(teamRepository.findById(team.getId()).orElseThrow().getVersion()).isEqualTo(1);
+        assertThat(teamOutboxRepository.findAll())
+                .extracting(TeamOutboxEvent::getType, TeamOutboxEvent::getVersion)
+                .containsExactly(tuple(TeamEventType.UPDATED, 1L));
+    }
+
+    @Test
+    public void testWritesMaintainSameSummariesAsServletStack() {
+        teamSummaryService.rebuild();
+        TeamRequest teamRequest = TeamRequest.builder()
+                .name("OGC Nice")
+                .acronym("OGCN")
+                .budget(5000000.0)
+                .players(List.of(PlayerRequest.builder().name("Messi").position("Forward").build()))
+                .build();
+        TeamResponse created = webTestClient.post().uri("/teams")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(teamRequest)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(TeamResponse.class)
+                .returnResult().getResponseBody();
+        teamRequest.setName("OGC Nice Updated");
+        webTestClient.put().uri("/teams/{id}", created.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(teamRequest)
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.delete().uri("/teams/{id}", team.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        assertThat(teamSummaryService.check().isConsistent()).isTrue();
+        assertThat(teamOutboxRepository.findAll(Sort.by("id")))
+                .extracting(TeamOutboxEvent::getTeamId, TeamOutboxEvent::getType, TeamOutboxEvent::getVersion)
+                .containsExactly(
+                        tuple(created.getId(), TeamEventType.CREATED, 0L),
+                        tuple(created.getId(), TeamEventType.UPDATED, 1L),
+                        tuple(team.getId(), TeamEventType.DELETED, null));
+    }
+
+    @Test
+    public void testDeleteTeam() {
+        webTestClient.delete().uri("/teams/{id}", team.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.delete().uri("/teams/{id}", team.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+
+        assertThat(teamRepository.existsById(team.getId())).isFalse();
+    }
+}
@@ -0,0 +1,132 @@
+package com.matawan.teamservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.teamservice.dtos.request.TeamBatchGetRequest;
+import com.matawan.teamservice.dtos.response.TeamBatchGetItem;
+import com.matawan.teamservice.dtos.response.TeamBatchGetResponse;
+import com.matawan.teamservice.entity.Player;
+import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.repository.TeamRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TeamsBatchGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Long> teamIds;
+
+    @BeforeEach
+    public void setup() {
+        teamRepository.deleteAll();
+        List<Team> teams = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            List<Player> players = new ArrayList<>();
+            Team team = Team.builder()
+                    .name("Team " + i)
+                    .acronym("T" + i)
+                    .budget(100000 * i)
+                    .players(players)
+                    .build();
+            for (int j = 1; j <= i; j++) {
+                players.add(Player.builder().name("Player " + i + "-" + j).position("Position " + j).team(team).build());
+            }
+            teams.add(team);
+        }
+        teamIds = teamRepository.saveAll(teams).stream().map(Team::getId).toList();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    public void testBatchGetKeepsRequestOrderAndReportsMissingTeams() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<Long> ids = List.of(teamIds.get(3), -1L, teamIds.get(0), teamIds.get(3));
+
+        TeamBatchGetResponse response = batchGet(ids);
+
+        assertThat(response.getTeams()).extracting(TeamBatchGetItem::getId).containsExactlyElementsOf(ids);
+        assertThat(response.getFound()).isEqualTo(3);
+        assertThat(response.getMissing()).isEqualTo(1);
+        assertThat(response.getTeams().get(0).getTeam().getName()).isEqualTo("Team 4");
+        assertThat(response.getTeams().get(0).getTeam().getPlayers()).hasSize(4);
+        assertThat(response.getTeams().get(1).getTeam()).isNull();
+        assertThat(response.getTeams().get(1).getError()).isEqualTo("Team not found by id: -1");
+        assertThat(response.getTeams().get(2).getTeam().getPlayers()).hasSize(1);
+        assertThat(response.getTeams().get(3).getTeam()).isEqualTo(response.getTeams().get(0).getTeam());
+        // the teams, then the players of all of them
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testBatchGetOfMissingTeamsOnly() throws Exception {
+        TeamBatchGetResponse response = batchGet(List.of(-1L, -2L));
+
+        assertThat(response.getFound()).isZero();
+        assertThat(response.getTeams()).extracting(TeamBatchGetItem::getError)
+                .containsExactly("Team not found by id: -1", "Team not found by id: -2");
+    }
+
+    @Test
+    public void testBatchGetValidatesIds() throws Exception {
+        perform(List.of())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.ids").value("Team ids cannot be empty or null"));
+        perform(LongStream.rangeClosed(1, TeamBatchGetRequest.MAX_IDS + 1).boxed().toList())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.ids").value("At most 100 teams can be fetched at once"));
+    }
+
+    private TeamBatchGetResponse batchGet(List<Long> ids) throws Exception {
+        MvcResult mvcResult = perform(ids)
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(mvcResult.getResponse().getContentAsString(), TeamBatchGetResponse.class);
+    }
+
+    private ResultActions perform(List<Long> ids) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.post("/teams/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(TeamBatchGetRequest.builder().ids(ids).build())));
+    }
+}
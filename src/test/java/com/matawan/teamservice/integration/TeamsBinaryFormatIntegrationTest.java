@@ -0,0 +1,240 @@
+package com.matawan.teamservice.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.teamservice.configuration.BinaryFormatConfig;
+import com.matawan.teamservice.dtos.request.PlayerRequest;
+import com.matawan.teamservice.dtos.request.TeamBatchGetRequest;
+import com.matawan.teamservice.dtos.request.TeamRequest;
+import com.matawan.teamservice.dtos.response.BulkImportResponse;
+import com.matawan.teamservice.dtos.response.TeamBatchGetResponse;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.repository.TeamRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TeamsBinaryFormatIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @AfterEach
+    public void cleanup() {
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    public void testCreateAndGetTeamInCbor() throws Exception {
+        ObjectMapper cbor = cborConverter.getObjectMapper();
+        MvcResult created = mockMvc.perform(MockMvcRequestBuilders.post("/teams")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(team("Nice", "NC"))))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+        TeamResponse team = cbor.readValue(created.getResponse().getContentAsByteArray(), TeamResponse.class);
+        assertThat(team.getName()).isEqualTo("Nice");
+        assertThat(team.getPlayers()).singleElement().satisfies(player -> assertThat(player.getName()).isEqualTo("Messi"));
+        // encoded with the settings of the JSON mapper, which leave the version to the ETag
+        assertThat(cbor.readTree(created.getResponse().getContentAsByteArray()).has("version")).isFalse();
+
+        MvcResult json = mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", team.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn();
+        MvcResult binary = mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", team.getId())
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0-cbor\""))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                .andReturn();
+        assertThat(cbor.readValue(binary.getResponse().getContentAsByteArray(), TeamResponse.class))
+                .isEqualTo(objectMapper.readValue(json.getResponse().getContentAsByteArray(), TeamResponse.class))
+                .isEqualTo(team);
+        assertThat(binary.getResponse().getContentAsByteArray()).hasSizeLessThan(json.getResponse().getContentAsByteArray().length);
+        assertThat(json.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo("\"0\"");
+
+        // the CBOR representation is revalidated against its own ETag
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", team.getId())
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0-cbor\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", team.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0-cbor\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testAcceptHeaderPreferencesAreHonoured() throws Exception {
+        TeamResponse team = create("Nice", "NC");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", team.getId())
+                        .header(HttpHeaders.ACCEPT, "application/cbor;q=0.5, application/json"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", team.getId())
+                        .header(HttpHeaders.ACCEPT, "application/x-jackson-smile, */*;q=0.1"))
+                .andExpect(content().contentType(BinaryFormatConfig.APPLICATION_SMILE));
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", team.getId())
+                        .header(HttpHeaders.ACCEPT, "*/*"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams")
+                        .header(HttpHeaders.ACCEPT, "*/*"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    public void testUpdateAndPageInSmile() throws Exception {
+        ObjectMapper smile = smileConverter.getObjectMapper();
+        TeamResponse team = create("Nice", "NC");
+        create("Lyon", "OL");
+
+        MvcResult updated = mockMvc.perform(MockMvcRequestBuilders.put("/teams/{id}", team.getId())
+                        .contentType(BinaryFormatConfig.APPLICATION_SMILE)
+                        .accept(BinaryFormatConfig.APPLICATION_SMILE)
+                        .content(smile.writeValueAsBytes(team("Nice Updated", "NCU"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-smile\""))
+                .andReturn();
+        assertThat(smile.readValue(updated.getResponse().getContentAsByteArray(), TeamResponse.class).getAcronym()).isEqualTo("NCU");
+
+        MvcResult page = mockMvc.perform(MockMvcRequestBuilders.get("/teams?sort=name")
+                        .accept(BinaryFormatConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryFormatConfig.APPLICATION_SMILE))
+                .andReturn();
+        JsonNode content = smile.readTree(page.getResponse().getContentAsByteArray());
+        assertThat(content.at("/content/0/name").asText()).isEqualTo("Lyon");
+        assertThat(content.at("/content/1/name").asText()).isEqualTo("Nice Updated");
+        assertThat(content.at("/totalElements").asLong()).isEqualTo(2);
+    }
+
+    @Test
+    public void testErrorsAreEncodedInTheAcceptedFormat() throws Exception {
+        ObjectMapper cbor = cborConverter.getObjectMapper();
+
+        MvcResult notFound = mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", -1)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+        assertThat(cbor.readTree(notFound.getResponse().getContentAsByteArray()).get("error").asText())
+                .isEqualTo("Team not found by id: -1");
+
+        MvcResult invalid = mockMvc.perform(MockMvcRequestBuilders.post("/teams")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(TeamRequest.builder().acronym("NN").budget(10.0).players(List.of()).build())))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+        assertThat(cbor.readTree(invalid.getResponse().getContentAsByteArray()).get("name").asText())
+                .isEqualTo("Team name cannot be empty or null");
+    }
+
+    @Test
+    public void testBatchGetInCbor() throws Exception {
+        ObjectMapper cbor = cborConverter.getObjectMapper();
+        TeamResponse team = create("Nice", "NC");
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post("/teams/batch-get")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(TeamBatchGetRequest.builder().ids(List.of(team.getId(), -1L)).build())))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        TeamBatchGetResponse response = cbor.readValue(result.getResponse().getContentAsByteArray(), TeamBatchGetResponse.class);
+        assertThat(response.getFound()).isEqualTo(1);
+        assertThat(response.getTeams().getFirst().getTeam()).isEqualTo(team);
+        assertThat(response.getTeams().getLast().getError()).isNotNull();
+    }
+
+    @Test
+    public void testBulkImportAndExportAsCborSequence() throws Exception {
+        ObjectMapper cbor = cborConverter.getObjectMapper();
+        ByteArrayOutputStream sequence = new ByteArrayOutputStream();
+        for (int i = 1; i <= 3; i++) {
+            sequence.write(cbor.writeValueAsBytes(team("Team " + i, "T" + i)));
+        }
+
+        MvcResult imported = mockMvc.perform(MockMvcRequestBuilders.post("/teams/bulk")
+                        .contentType(BinaryFormatConfig.APPLICATION_CBOR_SEQ)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(sequence.toByteArray()))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(cbor.readValue(imported.getResponse().getContentAsByteArray(), BulkImportResponse.class).getImported())
+                .isEqualTo(3);
+
+        MvcResult export = mockMvc.perform(MockMvcRequestBuilders.get("/teams/export")
+                        .accept(BinaryFormatConfig.APPLICATION_CBOR_SEQ))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult exported = mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryFormatConfig.APPLICATION_CBOR_SEQ))
+                .andReturn();
+        try (MappingIterator<TeamResponse> teams = cbor.readerFor(TeamResponse.class)
+                .readValues(exported.getResponse().getContentAsByteArray())) {
+            assertThat(teams.readAll()).extracting(TeamResponse::getName).containsExactly("Team 1", "Team 2", "Team 3");
+        }
+    }
+
+    private TeamResponse create(String name, String acronym) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.post("/teams")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(team(name, acronym))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(mvcResult.getResponse().getContentAsString(), TeamResponse.class);
+    }
+
+    private static TeamRequest team(String name, String acronym) {
+        return TeamRequest.builder()
+                .name(name)
+                .acronym(acronym)
+                .budget(1000000.0)
+                .players(List.of(PlayerRequest.builder().name("Messi").position("Forward").build()))
+                .build();
+    }
+}
@@ -0,0 +1,203 @@
+package com.matawan.teamservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.teamservice.dtos.request.TeamBudgetAdjustmentRequest;
+import com.matawan.teamservice.dtos.response.TeamBulkChangeResponse;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.entity.Player;
+import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.repository.TeamRepository;
+import com.matawan.teamservice.service.TeamSearchService;
+import com.matawan.teamservice.service.TeamSummaryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TeamsBulkChangeIntegrationTest {
+
+    private static final int PLAYERS_PER_TEAM = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamSummaryService teamSummaryService;
+
+    @Autowired
+    private TeamSearchService teamSearchService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private List<Long> teamIds;
+
+    @BeforeEach
+    public void setup() {
+        teamRepository.deleteAll();
+        List<Team> teams = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            List<Player> players = new ArrayList<>();
+            Team team = Team.builder()
+                    .name("Team " + i)
+                    .acronym("T" + i)
+                    .budget(100000 * i)
+                    .players(players)
+                    .build();
+            for (int j = 1; j <= PLAYERS_PER_TEAM; j++) {
+                players.add(Player.builder().name("Player " + i + "-" + j)
+                        .position(i % 2 == 0 && j == 1 ? "Goalkeeper" : "Midfielder").team(team).build());
+            }
+            teams.add(team);
+        }
+        teamIds = teamRepository.saveAll(teams).stream().map(Team::getId).toList();
+        teamSummaryService.rebuild();
+        teamSearchService.rebuild();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    public void testDeleteByIdsUsesSetBasedStatements() throws Exception {
+        List<Long> ids = List.of(teamIds.get(0), teamIds.get(2), teamIds.get(4));
+
+        TeamBulkChangeResponse response = perform(MockMvcRequestBuilders.delete("/teams")
+                .param("ids", ids.stream().map(String::valueOf).toArray(String[]::new)));
+
+        assertThat(response.getCount()).isEqualTo(3);
+        assertThat(response.getIds()).containsExactlyElementsOf(ids);
+        // the IDs, then one statement each for the players, the summaries and the teams, then the outbox
+        // events: two sequence calls, the pooled optimizer fetching the next block on first use, and one batch
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4 + 3);
+        assertThat(teamRepository.findAll()).extracting(Team::getId).containsExactly(teamIds.get(1), teamIds.get(3));
+        assertThat(teamSummaryService.check().isConsistent()).isTrue();
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/search").param("q", "team"))
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    public void testDeleteByFilterEvictsCachedTeams() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", teamIds.get(1))).andExpect(status().isOk());
+
+        TeamBulkChangeResponse response = perform(MockMvcRequestBuilders.delete("/teams").param("position", "Goalkeeper"));
+
+        assertThat(response.getIds()).containsExactly(teamIds.get(1), teamIds.get(3));
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", teamIds.get(1))).andExpect(status().isNotFound());
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams")).andExpect(jsonPath("$.totalElements").value(3));
+    }
+
+    @Test
+    public void testDeleteWithoutFilterIsRejected() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/teams"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("At least one filter is required to change several teams"));
+
+        assertThat(teamRepository.count()).isEqualTo(5);
+    }
+
+    @Test
+    public void testDeleteWithBlankFilterIsRejected() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/teams").param("name", ""))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.name").value("name cannot be blank"));
+        mockMvc.perform(MockMvcRequestBuilders.delete("/teams").param("position", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.position").value("position cannot be blank"));
+
+        assertThat(teamRepository.count()).isEqualTo(5);
+    }
+
+    @Test
+    public void testDeleteOneTeamUsesFixedStatements() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/teams/{id}", teamIds.get(2)))
+                .andExpect(status().isNoContent());
+
+        // one statement each for the players, the summary and the team, whatever the roster size, then the
+        // sequence call and the insert of the outbox event
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3 + 2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(teamRepository.existsById(teamIds.get(2))).isFalse();
+        assertThat(teamSummaryService.check().isConsistent()).isTrue();
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/teams/{id}", teamIds.get(2)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Team not found by id: " + teamIds.get(2)));
+    }
+
+    @Test
+    public void testAdjustBudgetsUsesSetBasedStatements() throws Exception {
+        MvcResult before = mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", teamIds.get(3))).andReturn();
+        statistics.clear();
+
+        TeamBulkChangeResponse response = perform(MockMvcRequestBuilders.patch("/teams/budget")
+                .param("minBudget", "300000")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(TeamBudgetAdjustmentRequest.builder().percent(10.0).build())));
+
+        assertThat(response.getIds()).containsExactly(teamIds.get(2), teamIds.get(3), teamIds.get(4));
+        // the IDs, then one statement each for the teams and the summaries, then the outbox events: the teams
+        // and players read back, two sequence calls and one batch
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3 + 5);
+        assertThat(teamSummaryService.check().isConsistent()).isTrue();
+
+        MvcResult after = mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", teamIds.get(3))).andReturn();
+        TeamResponse team = objectMapper.readValue(after.getResponse().getContentAsString(), TeamResponse.class);
+        assertThat(team.getBudget()).isEqualTo(440000.0);
+        assertThat(after.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(before.getResponse().getHeader(HttpHeaders.ETAG));
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams").param("ids", String.valueOf(teamIds.get(1))))
+                .andExpect(jsonPath("$.content[0].budget").value(200000.0));
+    }
+
+    @Test
+    public void testAdjustBudgetsValidatesPercentage() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.patch("/teams/budget")
+                        .param("ids", String.valueOf(teamIds.getFirst()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TeamBudgetAdjustmentRequest.builder().percent(-100.0).build())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.percent").value("Budget change percentage must be greater than -100"));
+    }
+
+    private TeamBulkChangeResponse perform(RequestBuilder request) throws Exception {
+        ResultActions result = mockMvc.perform(request).andExpect(status().isOk());
+        return objectMapper.readValue(result.andReturn().getResponse().getContentAsString(), TeamBulkChangeResponse.class);
+    }
+}
@@ -0,0 +1,140 @@
+package com.matawan.teamservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.teamservice.dtos.request.PlayerRequest;
+import com.matawan.teamservice.dtos.request.TeamRequest;
+import com.matawan.teamservice.dtos.response.BulkImportResponse;
+import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.repository.TeamRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "teamservice.bulk.chunk-size=4")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TeamsBulkImportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    public void cleanup() {
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    public void testImportJsonArrayReportsInvalidTeams() throws Exception {
+        List<TeamRequest> teams = new ArrayList<>(teams(3, 2));
+        teams.add(1, TeamRequest.builder().acronym("NN").players(List.of()).budget(10.0).build());
+
+        BulkImportResponse importResponse = perform(MediaType.APPLICATION_JSON, objectMapper.writeValueAsString(teams));
+
+        assertThat(importResponse.getReceived()).isEqualTo(4);
+        assertThat(importResponse.getImported()).isEqualTo(3);
+        assertThat(importResponse.getErrors()).hasSize(1);
+        assertThat(importResponse.getErrors().getFirst().getIndex()).isEqualTo(1);
+        assertThat(importResponse.getErrors().getFirst().getErrors()).containsEntry("name", "Team name cannot be empty or null");
+        assertThat(teamRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    public void testImportNdjsonIsolatesDatabaseFailures() throws Exception {
+        List<TeamRequest> teams = new ArrayList<>(teams(9, 1));
+        // passes validation but does not fit the name column, failing the second chunk
+        teams.get(5).setName("N".repeat(300));
+        StringBuilder ndjson = new StringBuilder();
+        for (TeamRequest team : teams) {
+            ndjson.append(objectMapper.writeValueAsString(team)).append('\n');
+        }
+
+        BulkImportResponse importResponse = perform(MediaType.APPLICATION_NDJSON, ndjson.toString());
+
+        assertThat(importResponse.getReceived()).isEqualTo(9);
+        assertThat(importResponse.getImported()).isEqualTo(8);
+        assertThat(importResponse.getErrors()).hasSize(1);
+        assertThat(importResponse.getErrors().getFirst().getIndex()).isEqualTo(5);
+        assertThat(importResponse.getErrors().getFirst().getErrors()).containsExactly(Map.entry("error", "Team could not be saved"));
+        assertThat(teamRepository.findAll()).extracting(Team::getName).doesNotContain("N".repeat(300)).hasSize(8);
+    }
+
+    @Test
+    public void testImportBatchesInserts() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BulkImportResponse importResponse = perform(MediaType.APPLICATION_JSON, objectMapper.writeValueAsString(teams(8, 25)));
+
+        assertThat(importResponse.getImported()).isEqualTo(8);
+        // teams, players, team summaries and outbox events
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(8 + 8 * 25 + 8 + 8);
+        // per chunk of 4 teams: one team, one player, one summary and one outbox batch, plus one sequence
+        // call per 50 ids
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(19);
+    }
+
+    @Test
+    public void testImportMalformedStreamKeepsReadTeams() throws Exception {
+        String ndjson = objectMapper.writeValueAsString(teams(1, 1).getFirst()) + "\n{\"name\": ";
+
+        BulkImportResponse importResponse = perform(MediaType.APPLICATION_NDJSON, ndjson);
+
+        assertThat(importResponse.getImported()).isEqualTo(1);
+        assertThat(importResponse.getErrors()).hasSize(1);
+        assertThat(importResponse.getErrors().getFirst().getIndex()).isEqualTo(1);
+    }
+
+    private BulkImportResponse perform(MediaType contentType, String content) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.post("/teams/bulk")
+                        .contentType(contentType)
+                        .content(content))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(mvcResult.getResponse().getContentAsString(), BulkImportResponse.class);
+    }
+
+    private static List<TeamRequest> teams(int count, int playersPerTeam) {
+        List<TeamRequest> teams = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            List<PlayerRequest> players = new ArrayList<>();
+            for (int j = 1; j <= playersPerTeam; j++) {
+                players.add(PlayerRequest.builder().name("Player " + i + "-" + j).position("Position " + j).build());
+            }
+            teams.add(TeamRequest.builder()
+                    .name("Team " + i)
+                    .acronym("T" + i)
+                    .budget(1000.0 * i)
+                    .players(players)
+                    .build());
+        }
+        return teams;
+    }
+}
@@ -0,0 +1,247 @@
+package com.matawan.teamservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.teamservice.configuration.CacheConfig;
+import com.matawan.teamservice.dtos.request.PlayerRequest;
+import com.matawan.teamservice.dtos.request.TeamRequest;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.repository.TeamRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "teamservice.cache.team-json.off-heap=true")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TeamsCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+
+    private Long teamId;
+
+    @BeforeEach
+    public void setup() {
+        teamRepository.deleteAll();
+        Team team = Team.builder()
+                .name("Nice")
+                .acronym("NC")
+                .players(new ArrayList<>())
+                .budget(1000000.00)
+                .build();
+        teamId = teamRepository.save(team).getId();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    public void testGetTeamByIdIsServedFromCache() throws Exception {
+        getTeam();
+        statistics.clear();
+
+        TeamResponse team = getTeam();
+
+        assertThat(team.getName()).isEqualTo("Nice");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        // the JSON is served from its own cache, the team is only read once to serialise it
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "teamJson").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "teamJson").tag("result", "miss").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "teams").tag("result", "miss").functionCounter().count())
+                .isEqualTo(1);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/metrics/cache.gets").param("tag", "cache:teamJson"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(2.0));
+    }
+
+    @Test
+    public void testLargeTeamIsGzippedAheadOfTime() throws Exception {
+        List<PlayerRequest> players = new ArrayList<>();
+        for (int i = 1; i <= 60; i++) {
+            players.add(PlayerRequest.builder().name("Player " + i).position("Midfielder").build());
+        }
+        updateTeam(TeamRequest.builder().name("Nice").acronym("NC").players(players).budget(1000000.00).build());
+
+        MvcResult plain = mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", teamId))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                .andReturn();
+        MvcResult gzipped = mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", teamId)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-gzip\""))
+                .andReturn();
+        assertThat(plain.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo("\"1\"");
+
+        byte[] json = plain.getResponse().getContentAsByteArray();
+        byte[] compressed = gzipped.getResponse().getContentAsByteArray();
+        assertThat(compressed.length).isLessThan(json.length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(in.readAllBytes()).isEqualTo(json);
+        }
+        assertThat(objectMapper.readValue(json, TeamResponse.class).getPlayers()).hasSize(60);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", teamId)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+
+        // each representation is revalidated against its own ETag, and either is accepted by If-Match
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", teamId)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-gzip\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", teamId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-gzip\""))
+                .andExpect(status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.put("/teams/{id}", teamId)
+                        .header(HttpHeaders.IF_MATCH, "\"1-gzip\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TeamRequest.builder().name("Nice").acronym("NC")
+                                .players(players).budget(2000000.00).build())))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+    }
+
+    @Test
+    public void testSmallTeamIsNotGzipped() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", teamId)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.name").value("Nice"));
+    }
+
+    @Test
+    public void testUpdateTeamEvictsCachedTeam() throws Exception {
+        getTeam();
+
+        updateTeam(TeamRequest.builder()
+                .name("Nice Updated")
+                .acronym("NCU")
+                .players(List.of(PlayerRequest.builder().name("Messi").position("Forward").build()))
+                .budget(1200000.00)
+                .build());
+
+        TeamResponse team = getTeam();
+
+        assertThat(team.getName()).isEqualTo("Nice Updated");
+        assertThat(team.getPlayers()).hasSize(1);
+    }
+
+    @Test
+    public void testUpdateTeamReplacesCachedTeam() throws Exception {
+        getTeam();
+
+        updateTeam(TeamRequest.builder()
+                .name("Nice Updated")
+                .acronym("NCU")
+                .players(List.of(PlayerRequest.builder().name("Messi").position("Forward").build()))
+                .budget(1200000.00)
+                .build());
+        statistics.clear();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", teamId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.name").value("Nice Updated"))
+                .andExpect(jsonPath("$.players[0].name").value("Messi"));
+        // served from the team cached by the update, only its JSON is serialised again
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    public void testUpdateTeamDoesNotReplaceNewerCachedTeam() throws Exception {
+        getTeam();
+        Cache teamsCache = cacheManager.getCache(CacheConfig.TEAMS_CACHE);
+        TeamResponse newerTeam = teamsCache.get(teamId, TeamResponse.class);
+        newerTeam.setName("Nice Newer");
+        newerTeam.setVersion(5L);
+        teamsCache.put(teamId, newerTeam);
+
+        updateTeam(TeamRequest.builder().name("Nice Updated").acronym("NCU").players(List.of()).budget(1200000.00).build());
+
+        assertThat(teamsCache.get(teamId, TeamResponse.class).getVersion()).isEqualTo(5L);
+        assertThat(getTeam().getName()).isEqualTo("Nice Newer");
+    }
+
+    @Test
+    public void testDeleteTeamEvictsCachedTeam() throws Exception {
+        getTeam();
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/teams/{id}", teamId))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", teamId))
+                .andExpect(status().isNotFound());
+    }
+
+    private void updateTeam(TeamRequest teamRequest) throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.put("/teams/{id}", teamId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(teamRequest)))
+                .andExpect(status().isOk());
+    }
+
+    private TeamResponse getTeam() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", teamId)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(mvcResult.getResponse().getContentAsString(), TeamResponse.class);
+    }
+}
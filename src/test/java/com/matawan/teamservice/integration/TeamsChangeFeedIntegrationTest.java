@@ -0,0 +1,272 @@
+package com.matawan.teamservice.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.teamservice.dtos.request.PlayerRequest;
+import com.matawan.teamservice.dtos.request.TeamRequest;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.repository.TeamRepository;
+import com.matawan.teamservice.service.TeamChangeFeed;
+import com.matawan.teamservice.service.TeamService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "teamservice.changes.buffer-size=8")
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TeamsChangeFeedIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${server.servlet.context-path}")
+    private String contextPath;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamChangeFeed teamChangeFeed;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private HttpClient client;
+
+    @BeforeEach
+    public void setup() {
+        teamRepository.deleteAll();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        client.shutdownNow();
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    public void testChangesArePushedOnceCommitted() throws Exception {
+        long offset = teamChangeFeed.lastOffset();
+        BlockingQueue<Event> events = subscribe("", offset);
+
+        TeamResponse created = teamService.saveTeam(team("Nice"));
+        teamService.updateTeam(created.getId(), team("Nice Updated"));
+        teamService.deleteTeam(created.getId());
+
+        Event createdEvent = events.poll(5, TimeUnit.SECONDS);
+        assertThat(createdEvent.id()).isEqualTo(offset + 1);
+        assertThat(createdEvent.name()).isEqualTo("CREATED");
+        JsonNode change = objectMapper.readTree(createdEvent.data());
+        assertThat(change.get("teamId").asLong()).isEqualTo(created.getId());
+        assertThat(change.get("version").asLong()).isZero();
+        assertThat(change.has("team")).isFalse();
+
+        Event updatedEvent = events.poll(5, TimeUnit.SECONDS);
+        assertThat(updatedEvent.id()).isEqualTo(offset + 2);
+        assertThat(updatedEvent.name()).isEqualTo("UPDATED");
+        assertThat(objectMapper.readTree(updatedEvent.data()).get("version").asLong()).isEqualTo(1);
+
+        Event deletedEvent = events.poll(5, TimeUnit.SECONDS);
+        assertThat(deletedEvent.id()).isEqualTo(offset + 3);
+        assertThat(deletedEvent.name()).isEqualTo("DELETED");
+        assertThat(objectMapper.readTree(deletedEvent.data()).has("version")).isFalse();
+    }
+
+    @Test
+    public void testChangesCarryTeamsOnRequest() throws Exception {
+        BlockingQueue<Event> events = subscribe("?includeTeams=true", teamChangeFeed.lastOffset());
+
+        teamService.saveTeam(team("Nice"));
+
+        JsonNode change = objectMapper.readTree(events.poll(5, TimeUnit.SECONDS).data());
+        assertThat(change.at("/team/name").asText()).isEqualTo("Nice");
+        assertThat(change.at("/team/players/0/name").asText()).isEqualTo("Messi");
+    }
+
+    @Test
+    public void testRolledBackChangeIsNotPushed() throws Exception {
+        long offset = teamChangeFeed.lastOffset();
+        BlockingQueue<Event> events = subscribe("", offset);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            teamService.saveTeam(team("Rolled Back"));
+            status.setRollbackOnly();
+        });
+        TeamResponse created = teamService.saveTeam(team("Nice"));
+
+        Event event = events.poll(5, TimeUnit.SECONDS);
+        assertThat(event.id()).isEqualTo(offset + 1);
+        assertThat(objectMapper.readTree(event.data()).get("teamId").asLong()).isEqualTo(created.getId());
+    }
+
+    @Test
+    public void testLastEventIdReplaysMissedChanges() throws Exception {
+        long offset = teamChangeFeed.lastOffset();
+        teamService.saveTeam(team("Nice"));
+        teamService.saveTeam(team("Lyon"));
+
+        BlockingQueue<Event> events = subscribe("", offset);
+        teamService.saveTeam(team("Lens"));
+
+        assertThat(Stream.of(events.poll(5, TimeUnit.SECONDS), events.poll(5, TimeUnit.SECONDS), events.poll(5, TimeUnit.SECONDS)))
+                .extracting(Event::id)
+                .containsExactly(offset + 1, offset + 2, offset + 3);
+    }
+
+    @Test
+    public void testLastEventIdOutOfTheBufferIsReset() throws Exception {
+        long offset = teamChangeFeed.lastOffset();
+        for (int i = 1; i <= 10; i++) {
+            teamService.saveTeam(team("Team " + i));
+        }
+
+        BlockingQueue<Event> events = subscribe("", offset);
+        teamService.saveTeam(team("Nice"));
+
+        Event reset = events.poll(5, TimeUnit.SECONDS);
+        assertThat(reset.name()).isEqualTo(TeamChangeFeed.RESET_EVENT);
+        assertThat(reset.id()).isEqualTo(offset + 10);
+        assertThat(events.poll(5, TimeUnit.SECONDS).id()).isEqualTo(offset + 11);
+
+        // an offset that was never reached, such as one from before a restart, is reset too
+        BlockingQueue<Event> futureEvents = subscribe("", offset + 100);
+        assertThat(futureEvents.poll(5, TimeUnit.SECONDS).name()).isEqualTo(TeamChangeFeed.RESET_EVENT);
+    }
+
+    @Test
+    public void testSlowSubscriberIsDroppedWithoutBlockingWriters() throws Exception {
+        BlockedEmitter emitter = new BlockedEmitter();
+        teamChangeFeed.subscribe(emitter, teamChangeFeed.lastOffset(), false);
+
+        teamService.saveTeam(team("Team 0"));
+        assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        // the subscriber is stuck sending, the writers go on
+        for (int i = 1; i <= 10; i++) {
+            teamService.saveTeam(team("Team " + i));
+        }
+        emitter.unblock.countDown();
+
+        assertThat(emitter.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(emitter.sent).last().asString().contains("event:" + TeamChangeFeed.RESET_EVENT);
+        assertThat(meterRegistry.get("teams.changes.dropped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("teams.changes.subscribers").gauge().value()).isZero();
+    }
+
+    /**
+     * Opens the change feed and collects its events in the background.
+     */
+    private BlockingQueue<Event> subscribe(String query, long lastEventId) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + contextPath + "/teams/changes" + query))
+                .header("Accept", MediaType.TEXT_EVENT_STREAM_VALUE)
+                .header("Last-Event-ID", String.valueOf(lastEventId))
+                .build();
+        HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+        BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+        Thread.ofVirtual().start(() -> {
+            Long id = null;
+            String name = null;
+            StringBuilder data = new StringBuilder();
+            try {
+                for (String line : (Iterable<String>) response.body()::iterator) {
+                    if (line.isEmpty()) {
+                        if (name != null) {
+                            events.add(new Event(id, name, data.toString()));
+                        }
+                        id = null;
+                        name = null;
+                        data.setLength(0);
+                    } else if (line.startsWith("id:")) {
+                        id = Long.valueOf(line.substring(3));
+                    } else if (line.startsWith("event:")) {
+                        name = line.substring(6);
+                    } else if (line.startsWith("data:")) {
+                        data.append(line.substring(5));
+                    }
+                }
+            } catch (UncheckedIOException e) {
+                // the client was shut down
+            }
+        });
+        return events;
+    }
+
+    private static TeamRequest team(String name) {
+        return TeamRequest.builder()
+                .name(name)
+                .acronym("T")
+                .budget(1000000.0)
+                .players(List.of(PlayerRequest.builder().name("Messi").position("Forward").build()))
+                .build();
+    }
+
+    private record Event(Long id, String name, String data) {
+    }
+
+    /**
+     * An emitter whose first send blocks until released, like a client that stopped reading.
+     */
+    private static class BlockedEmitter extends SseEmitter {
+
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch unblock = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(1);
+        final List<String> sent = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sending.countDown();
+            try {
+                unblock.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            StringBuilder event = new StringBuilder();
+            builder.build().forEach(part -> event.append(part.getData()));
+            sent.add(event.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
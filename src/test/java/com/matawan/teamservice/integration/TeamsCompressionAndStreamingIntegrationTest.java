@@ -0,0 +1,180 @@
+package com.matawan.teamservice.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.teamservice.dtos.request.TeamFilter;
+import com.matawan.teamservice.entity.Player;
+import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.repository.TeamRepository;
+import com.matawan.teamservice.service.TeamService;
+import com.matawan.teamservice.service.TeamSummaryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "teamservice.pages.streaming-min-size=5")
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TeamsCompressionAndStreamingIntegrationTest {
+
+    private static final int TEAMS = 8;
+    // enough for the JSON of a team to reach the compression threshold
+    private static final int PLAYERS_PER_TEAM = 40;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${server.servlet.context-path}")
+    private String contextPath;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamSummaryService teamSummaryService;
+
+    private HttpClient client;
+
+    private List<Long> teamIds;
+
+    @BeforeEach
+    public void setup() {
+        client = HttpClient.newHttpClient();
+        teamRepository.deleteAll();
+        List<Team> teams = new ArrayList<>();
+        for (int i = 1; i <= TEAMS; i++) {
+            List<Player> players = new ArrayList<>();
+            Team team = Team.builder().name("Team " + i).acronym("T" + i).budget(100000.0 * i).players(players).build();
+            for (int j = 1; j <= PLAYERS_PER_TEAM; j++) {
+                players.add(Player.builder().name("Player " + i + "-" + j).position("Position " + j).team(team).build());
+            }
+            teams.add(team);
+        }
+        teamIds = teamRepository.saveAll(teams).stream().map(Team::getId).toList();
+        teamSummaryService.rebuild();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        client.close();
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    public void testStreamedPageIsTheBufferedPage() throws Exception {
+        HttpResponse<byte[]> streamed = get("/teams?size=5&page=1&sort=name", MediaType.APPLICATION_JSON_VALUE, null);
+
+        assertThat(streamed.statusCode()).isEqualTo(200);
+        assertThat(streamed.headers().firstValue(HttpHeaders.CONTENT_TYPE)).hasValue(MediaType.APPLICATION_JSON_VALUE);
+        JsonNode page = objectMapper.readTree(streamed.body());
+        JsonNode buffered = objectMapper.readTree(objectMapper.writeValueAsBytes(
+                teamService.getTeams(new TeamFilter(), PageRequest.of(1, 5, Sort.by("name")))));
+        assertThat(page).isEqualTo(buffered);
+        assertThat(page.get("content")).hasSize(3);
+        assertThat(page.get("totalElements").asLong()).isEqualTo(TEAMS);
+
+        // the ETag of a streamed page is the one of its team versions
+        String etag = streamed.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+        assertThat(get("/teams?size=5&page=1&sort=name", MediaType.APPLICATION_JSON_VALUE, null, HttpHeaders.IF_NONE_MATCH, etag)
+                .statusCode()).isEqualTo(304);
+    }
+
+    @Test
+    public void testStreamedPageInCbor() throws Exception {
+        HttpResponse<byte[]> streamed = get("/teams?size=10&sort=name", MediaType.APPLICATION_CBOR_VALUE, null);
+
+        assertThat(streamed.statusCode()).isEqualTo(200);
+        assertThat(streamed.headers().firstValue(HttpHeaders.CONTENT_TYPE)).hasValue(MediaType.APPLICATION_CBOR_VALUE);
+        JsonNode page = cborConverter.getObjectMapper().readTree(streamed.body());
+        assertThat(page.get("content")).hasSize(TEAMS);
+        assertThat(page.at("/content/0/name").asText()).isEqualTo("Team 1");
+        assertThat(page.at("/content/0/players")).hasSize(PLAYERS_PER_TEAM);
+        assertThat(page.get("totalElements").asLong()).isEqualTo(TEAMS);
+        assertThat(page.get("last").asBoolean()).isTrue();
+    }
+
+    @Test
+    public void testLargeResponsesAreGzipped() throws Exception {
+        HttpResponse<byte[]> identity = get("/teams?size=10&sort=name", MediaType.APPLICATION_JSON_VALUE, null);
+        HttpResponse<byte[]> gzipped = get("/teams?size=10&sort=name", MediaType.APPLICATION_JSON_VALUE, "gzip");
+
+        assertThat(identity.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(gzipped.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        assertThat(gzipped.headers().allValues(HttpHeaders.VARY)).anySatisfy(vary -> assertThat(vary).containsIgnoringCase("Accept-Encoding"));
+        assertThat(gzipped.body()).hasSizeLessThan(identity.body().length);
+        assertThat(objectMapper.readTree(gunzip(gzipped.body()))).isEqualTo(objectMapper.readTree(identity.body()));
+
+        // buffered pages are compressed too
+        HttpResponse<byte[]> buffered = get("/teams?size=4&sort=name", MediaType.APPLICATION_JSON_VALUE, "gzip");
+        assertThat(buffered.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        assertThat(objectMapper.readTree(gunzip(buffered.body())).get("content")).hasSize(4);
+    }
+
+    @Test
+    public void testSmallAndPreCompressedResponsesAreNotCompressedAgain() throws Exception {
+        Team smallTeam = Team.builder().name("Small").acronym("SM").budget(1000.0).players(new ArrayList<>()).build();
+        smallTeam.getPlayers().add(Player.builder().name("Messi").position("Forward").team(smallTeam).build());
+        Long smallId = teamRepository.save(smallTeam).getId();
+        HttpResponse<byte[]> small = get("/teams/" + smallId, MediaType.APPLICATION_JSON_VALUE, "gzip");
+        assertThat(small.statusCode()).isEqualTo(200);
+        assertThat(small.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(objectMapper.readTree(small.body()).get("name").asText()).isEqualTo("Small");
+
+        // the team JSON cached gzipped is sent as it is, a single gunzip gives the team back
+        HttpResponse<byte[]> team = get("/teams/" + teamIds.getFirst(), MediaType.APPLICATION_JSON_VALUE, "gzip");
+        assertThat(team.headers().allValues(HttpHeaders.CONTENT_ENCODING)).containsExactly("gzip");
+        assertThat(objectMapper.readTree(gunzip(team.body())).get("name").asText()).isEqualTo("Team 1");
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, String acceptEncoding, String... headers)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + contextPath + path.replace(" ", "%20")))
+                .header(HttpHeaders.ACCEPT, accept);
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (headers.length > 0) {
+            request.headers(headers);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return input.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.matawan.teamservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.teamservice.dtos.request.PlayerRequest;
+import com.matawan.teamservice.dtos.request.TeamRequest;
+import com.matawan.teamservice.entity.Player;
+import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.repository.TeamRepository;
+import com.matawan.teamservice.service.TeamService;
+import com.matawan.teamservice.service.TeamSummaryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TeamsConcurrentUpdateIntegrationTest {
+
+    private static final int HOT_TEAMS = 2;
+    private static final int CLIENTS = 16;
+    private static final int UPDATES_PER_CLIENT = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${server.servlet.context-path}")
+    private String contextPath;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamSummaryService teamSummaryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private List<Long> teamIds;
+
+    @BeforeEach
+    public void setup() {
+        teamRepository.deleteAll();
+        List<Team> teams = new ArrayList<>();
+        for (int i = 1; i <= HOT_TEAMS; i++) {
+            List<Player> players = new ArrayList<>();
+            Team team = Team.builder().name("Team " + i).acronym("T" + i).budget(1000000.0).players(players).build();
+            players.add(Player.builder().name("Player " + i).position("Forward").team(team).build());
+            teams.add(team);
+        }
+        teamIds = teamRepository.saveAll(teams).stream().map(Team::getId).toList();
+        teamSummaryService.rebuild();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    public void testConcurrentUpdatesOfHotTeamsAreNeverLost() throws Exception {
+        Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+        Map<Long, AtomicInteger> applied = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        try (HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                int clientIndex = c;
+                futures.add(clients.submit(() -> {
+                    start.await();
+                    for (int r = 0; r < UPDATES_PER_CLIENT; r++) {
+                        Long id = teamIds.get((clientIndex + r) % HOT_TEAMS);
+                        // every update renames the team and replaces its roster, so every success is a new version
+                        TeamRequest update = TeamRequest.builder()
+                                .name("Team " + clientIndex + "-" + r)
+                                .acronym("T" + clientIndex)
+                                .budget(1000000.0 + r)
+                                .players(List.of(PlayerRequest.builder().name("Player " + clientIndex + "-" + r).position("Forward").build()))
+                                .build();
+                        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri("/teams/" + id))
+                                        .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                                        .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(update)))
+                                        .build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        statuses.computeIfAbsent(response.statusCode(), status -> new AtomicInteger()).incrementAndGet();
+                        if (response.statusCode() == 200) {
+                            applied.computeIfAbsent(id, teamId -> new AtomicInteger()).incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        }
+
+        // throughput and conflict rates are reported by TeamUpdateContentionBenchmark
+        int rejected = statuses.getOrDefault(409, new AtomicInteger()).get();
+        assertThat(statuses.keySet()).isSubsetOf(200, 409);
+        if (rejected > 0) {
+            assertThat(meterRegistry.get("teams.update.conflicts").tag("outcome", "rejected").counter().count())
+                    .isEqualTo(rejected);
+        }
+        for (Long id : teamIds) {
+            // no update was lost or applied twice: the version counts exactly the accepted updates
+            Team team = teamRepository.findById(id).orElseThrow();
+            assertThat(team.getVersion()).isEqualTo(applied.getOrDefault(id, new AtomicInteger()).get());
+            assertThat(teamService.getTeamById(id).getPlayers()).hasSize(1);
+        }
+        assertThat(teamSummaryService.check().isConsistent()).isTrue();
+    }
+
+    @Test
+    public void testUpdateOvertakenByConcurrentChangeIsRejectedWithConflict() throws Exception {
+        TeamService target = AopTestUtils.getTargetObject(teamService);
+        ReflectionTestUtils.setField(target, "updateMaxAttempts", 1);
+        Long id = teamIds.getFirst();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        // a concurrent change holds the lock of the team row until it commits
+        Thread writer = Thread.ofVirtual().start(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("update team set name = 'Concurrent', version = version + 1 where id = ?", id);
+            locked.countDown();
+            try {
+                commit.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            TeamRequest update = TeamRequest.builder().name("Nice").acronym("NC").budget(2000000.0).players(List.of()).build();
+            CompletableFuture<HttpResponse<String>> response = client.sendAsync(HttpRequest.newBuilder(uri("/teams/" + id))
+                            .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                            .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(update)))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            // the update has read the team at its previous version and waits for the lock, let the change commit
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (jdbcTemplate.queryForObject("select count(*) from information_schema.sessions where blocker_id is not null", Integer.class) == 0) {
+                assertThat(System.nanoTime()).isLessThan(deadline);
+                Thread.sleep(10);
+            }
+            commit.countDown();
+            writer.join();
+
+            assertThat(response.get(5, TimeUnit.SECONDS).statusCode()).isEqualTo(409);
+            assertThat(objectMapper.readTree(response.get().body()).get("error").asText())
+                    .isEqualTo("Team " + id + " was changed concurrently, retry the update");
+        } finally {
+            commit.countDown();
+        }
+        assertThat(teamRepository.findById(id).orElseThrow())
+                .extracting(Team::getName, Team::getVersion)
+                .containsExactly("Concurrent", 1L);
+        assertThat(meterRegistry.get("teams.update.conflicts").tag("outcome", "rejected").counter().count()).isEqualTo(1);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + contextPath + path);
+    }
+}
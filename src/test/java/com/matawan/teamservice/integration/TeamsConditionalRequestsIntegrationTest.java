@@ -0,0 +1,192 @@
+package com.matawan.teamservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.teamservice.dtos.request.PlayerRequest;
+import com.matawan.teamservice.dtos.request.TeamRequest;
+import com.matawan.teamservice.entity.Player;
+import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.repository.TeamRepository;
+import com.matawan.teamservice.service.TeamSummaryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TeamsConditionalRequestsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamSummaryService teamSummaryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Team team;
+
+    @BeforeEach
+    public void setup() {
+        teamRepository.deleteAll();
+        List<Player> players = new ArrayList<>();
+        Team newTeam = Team.builder()
+                .name("Nice")
+                .acronym("NC")
+                .players(players)
+                .budget(1000000.00)
+                .build();
+        players.add(Player.builder().name("Player 1").position("Midfielder").team(newTeam).build());
+        team = teamRepository.save(newTeam);
+        teamSummaryService.rebuild();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    public void testGetTeamReturnsValidators() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", team.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    public void testMatchingIfNoneMatchIsNotModifiedFromVersionOnly() throws Exception {
+        String etag = getETag();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", team.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    public void testMatchingIfModifiedSinceIsNotModified() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", team.getId()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", team.getId())
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, mvcResult.getResponse().getHeader(HttpHeaders.LAST_MODIFIED)))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void testPlayerChangeChangesETag() throws Exception {
+        String etag = getETag();
+
+        update(request("Striker"), null).andExpect(status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", team.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        assertThat(getETag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    public void testUnchangedUpdateKeepsETag() throws Exception {
+        String etag = getETag();
+
+        update(request("Midfielder"), null)
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    public void testIfMatchGuardsUpdate() throws Exception {
+        String etag = getETag();
+        update(request("Striker"), etag)
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        // the client still holds the former ETag
+        update(request("Goalkeeper"), etag)
+                .andExpect(status().isPreconditionFailed());
+        update(request("Goalkeeper"), "W/" + etag)
+                .andExpect(status().isPreconditionFailed());
+        update(request("Goalkeeper"), "*")
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testPageETag() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/teams").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        String etag = mvcResult.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams").param("size", "10").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        update(request("Striker"), null).andExpect(status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams").param("size", "10").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    private String getETag() throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", team.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private TeamRequest request(String position) {
+        Player player = team.getPlayers().getFirst();
+        return TeamRequest.builder()
+                .name(team.getName())
+                .acronym(team.getAcronym())
+                .budget(team.getBudget())
+                .players(List.of(PlayerRequest.builder().id(player.getId()).name(player.getName()).position(position).build()))
+                .build();
+    }
+
+    private ResultActions update(TeamRequest teamRequest, String ifMatch) throws Exception {
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.put("/teams/{id}", team.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(teamRequest));
+        if (ifMatch != null) {
+            request.header(HttpHeaders.IF_MATCH, ifMatch);
+        }
+        return mockMvc.perform(request);
+    }
+}
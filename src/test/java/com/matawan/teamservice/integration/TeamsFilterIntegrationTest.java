@@ -0,0 +1,133 @@
+package com.matawan.teamservice.integration;
+
+import com.matawan.teamservice.entity.Player;
+import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.repository.TeamRepository;
+import com.matawan.teamservice.service.TeamSummaryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TeamsFilterIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamSummaryService teamSummaryService;
+
+    @BeforeEach
+    public void setup() {
+        teamRepository.deleteAll();
+        teamRepository.saveAll(List.of(
+                team("Olympique Lyonnais", "OL", 5000000, "Goalkeeper", "Forward"),
+                team("Olympique de Marseille", "OM", 4000000, "Forward"),
+                team("Paris Saint-Germain", "PSG", 9000000, "Goalkeeper"),
+                team("Nice", "NC", 1000000),
+                team("100% Lens", "RCL", 2000000, "Defender")));
+        teamSummaryService.rebuild();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    public void testFilterByNamePrefixAndContains() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams").param("name", "Olympique"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[*].acronym", contains("OL", "OM")));
+        // the prefix is case-sensitive, the contains filter is not
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams").param("name", "olympique"))
+                .andExpect(jsonPath("$.totalElements").value(0));
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams").param("nameContains", "SAINT"))
+                .andExpect(jsonPath("$.content[*].acronym", contains("PSG")));
+    }
+
+    @Test
+    public void testFilterByAcronymBudgetAndPosition() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams").param("acronym", "NC"))
+                .andExpect(jsonPath("$.content[*].name", contains("Nice")));
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams").param("minBudget", "2000000").param("maxBudget", "5000000"))
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.content[*].acronym", contains("OL", "OM", "RCL")));
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams").param("position", "Goalkeeper"))
+                .andExpect(jsonPath("$.content[*].acronym", contains("OL", "PSG")))
+                // the players of matching teams are all returned, not only those in the position
+                .andExpect(jsonPath("$.content[0].players.length()").value(2));
+    }
+
+    @Test
+    public void testFiltersCombineAndPaginate() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams")
+                        .param("position", "Forward").param("maxBudget", "4500000"))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].acronym").value("OM"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams")
+                        .param("minBudget", "1000000").param("size", "2").param("page", "1"))
+                .andExpect(jsonPath("$.totalElements").value(5))
+                .andExpect(jsonPath("$.totalPages").value(3))
+                .andExpect(jsonPath("$.content.length()").value(2));
+    }
+
+    @Test
+    public void testLikeWildcardsAreMatchedLiterally() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams").param("name", "100%"))
+                .andExpect(jsonPath("$.content[*].acronym", contains("RCL")));
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams").param("nameContains", "_"))
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    @Test
+    public void testInvalidBudgetRangeIsRejected() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams").param("minBudget", "5").param("maxBudget", "1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testFilteredPagesHaveTheirOwnETag() throws Exception {
+        MvcResult all = mockMvc.perform(MockMvcRequestBuilders.get("/teams")).andReturn();
+        MvcResult filtered = mockMvc.perform(MockMvcRequestBuilders.get("/teams").param("acronym", "NC")).andReturn();
+        String eTag = filtered.getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(eTag).isNotEqualTo(all.getResponse().getHeader(HttpHeaders.ETAG));
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams").param("acronym", "NC")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    private static Team team(String name, String acronym, double budget, String... positions) {
+        List<Player> players = new ArrayList<>();
+        Team team = Team.builder().name(name).acronym(acronym).budget(budget).players(players).build();
+        for (String position : positions) {
+            players.add(Player.builder().name(name + " " + position).position(position).team(team).build());
+        }
+        return team;
+    }
+}
@@ -0,0 +1,152 @@
+package com.matawan.teamservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.teamservice.dtos.request.TeamCursor;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.dtos.response.TeamSliceResponse;
+import com.matawan.teamservice.entity.Player;
+import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.repository.TeamRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TeamsKeysetPaginationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    public void setup() {
+        teamRepository.deleteAll();
+
+        List<Team> teams = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            List<Player> players = new ArrayList<>();
+            Team team = Team.builder()
+                    .name("Team " + i)
+                    .acronym("T" + i)
+                    // two teams share each budget to exercise the id tie-breaker
+                    .budget(100000 * ((i + 1) / 2))
+                    .players(players)
+                    .build();
+            players.add(Player.builder().name("Player " + i).position("Forward").team(team).build());
+            teams.add(team);
+        }
+        teamRepository.saveAll(teams);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    public void testScrollWalksAllTeamsWithoutCount() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        int slices = 0;
+
+        do {
+            statistics.clear();
+            MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("/teams/scroll")
+                    .param("size", "3")
+                    .param("sort", "budget,desc")
+                    .contentType(MediaType.APPLICATION_JSON);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            TeamSliceResponse slice = perform(request);
+
+            // teams and their players, no count query
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+            slice.getContent().forEach(team -> assertThat(team.getPlayers()).hasSize(1));
+            slice.getContent().stream().map(TeamResponse::getName).forEach(names::add);
+            cursor = slice.getNextCursor();
+            assertThat(slice.isHasNext()).isEqualTo(cursor != null);
+            slices++;
+        } while (cursor != null);
+
+        assertThat(slices).isEqualTo(3);
+        assertThat(names).containsExactly("Team 7", "Team 6", "Team 5", "Team 4", "Team 3", "Team 2", "Team 1");
+    }
+
+    @Test
+    public void testScrollByNameWithDefaultSize() throws Exception {
+        TeamSliceResponse slice = perform(MockMvcRequestBuilders.get("/teams/scroll")
+                .param("sort", "name")
+                .contentType(MediaType.APPLICATION_JSON));
+
+        assertThat(slice.getContent()).hasSize(7);
+        assertThat(slice.isHasNext()).isFalse();
+        assertThat(slice.getNextCursor()).isNull();
+        assertThat(slice.getContent().getFirst().getName()).isEqualTo("Team 1");
+    }
+
+    @Test
+    public void testScrollWithInvalidCursor() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/scroll")
+                        .param("cursor", "not-a-cursor")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testScrollWithCursorOnUnsupportedProperty() throws Exception {
+        String cursor = new TeamCursor("players", Sort.Direction.ASC, "1", 1L).encode();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/scroll")
+                        .param("cursor", cursor)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testScrollWithUnsupportedSort() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/scroll")
+                        .param("sort", "players")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    private TeamSliceResponse perform(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(mvcResult.getResponse().getContentAsString(), TeamSliceResponse.class);
+    }
+}
@@ -0,0 +1,122 @@
+package com.matawan.teamservice.integration;
+
+import com.matawan.teamservice.entity.Player;
+import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.repository.TeamRepository;
+import com.matawan.teamservice.service.TeamSummaryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "logging.level.com.matawan.teamservice.service.TeamService=DEBUG")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@ExtendWith(OutputCaptureExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TeamsLoggingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamSummaryService teamSummaryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    private Team team;
+
+    @BeforeEach
+    public void setup() {
+        teamRepository.deleteAll();
+        List<Player> players = new ArrayList<>();
+        Team newTeam = Team.builder()
+                .name("Nice")
+                .acronym("NC")
+                .players(players)
+                .budget(1000000.00)
+                .build();
+        for (int i = 1; i <= 3; i++) {
+            players.add(Player.builder().name("Player " + i).position("Midfielder").team(newTeam).build());
+        }
+        team = teamRepository.save(newTeam);
+        teamSummaryService.rebuild();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    public void testEntityToStringEqualsAndHashCodeTriggerNoLazyLoading() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Team loadedTeam = teamRepository.findById(team.getId()).orElseThrow();
+            statistics.clear();
+
+            assertThat(loadedTeam.toString()).contains("Nice").doesNotContain("players");
+            assertThat(loadedTeam).isEqualTo(team).hasSameHashCodeAs(team);
+            assertThat(Hibernate.isInitialized(loadedTeam.getPlayers())).isFalse();
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+
+            Player player = loadedTeam.getPlayers().getFirst();
+            statistics.clear();
+            Team teamReference = teamRepository.getReferenceById(team.getId());
+
+            assertThat(player.toString()).contains("Player 1").doesNotContain("team");
+            assertThat(player).isEqualTo(team.getPlayers().getFirst()).hasSameHashCodeAs(team.getPlayers().getFirst());
+            assertThat(team).isEqualTo(teamReference);
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+        });
+    }
+
+    @Test
+    public void testDebugLoggingTriggersNoExtraStatements(CapturedOutput output) throws Exception {
+        statistics.clear();
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}", team.getId()))
+                .andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams"))
+                .andExpect(status().isOk());
+        // page of summaries, the total is derived from the partial first page
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThat(output).contains("Team found with ID: " + team.getId() + " and 3 players")
+                .contains("Fetched 1 of 1 teams")
+                .contains("Team found: TeamResponse(")
+                .contains("Paginated team response: [TeamResponse(");
+    }
+}
@@ -0,0 +1,92 @@
+package com.matawan.teamservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.teamservice.dtos.request.PlayerRequest;
+import com.matawan.teamservice.dtos.request.TeamRequest;
+import com.matawan.teamservice.repository.TeamRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TeamsMetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    public void cleanup() {
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    public void testRequestsRecordServiceJdbcRosterAndPayloadMetrics() throws Exception {
+        TeamRequest teamRequest = TeamRequest.builder()
+                .name("Nice")
+                .acronym("NC")
+                .budget(1000000.0)
+                .players(List.of(
+                        PlayerRequest.builder().name("Player 1").position("Goalkeeper").build(),
+                        PlayerRequest.builder().name("Player 2").position("Defender").build(),
+                        PlayerRequest.builder().name("Player 3").position("Forward").build()))
+                .build();
+        String body = objectMapper.writeValueAsString(teamRequest);
+        mockMvc.perform(MockMvcRequestBuilders.post("/teams")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated());
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams"))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("teams.service").tag("method", "saveTeam").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("teams.service").tag("method", "getTeams").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("teams.roster.size").tag("operation", "save").summary().max()).isEqualTo(3);
+        // page of summaries, the total is derived from the partial first page
+        assertThat(meterRegistry.get("teams.request.jdbc.statements").tags("method", "GET", "uri", "/teams")
+                .summary().totalAmount()).isEqualTo(1);
+        assertThat(meterRegistry.get("teams.request.jdbc.time").tags("method", "GET", "uri", "/teams")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("teams.request.payload.size")
+                .tags("method", "POST", "uri", "/teams", "direction", "request")
+                .summary().totalAmount()).isEqualTo(body.length());
+        assertThat(meterRegistry.get("teams.request.payload.size")
+                .tags("method", "GET", "uri", "/teams", "direction", "response")
+                .summary().totalAmount()).isPositive();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("teams_service_seconds_bucket{")))
+                .andExpect(content().string(containsString("teams_request_jdbc_statements_count{")))
+                .andExpect(content().string(containsString("teams_roster_size_bucket{")))
+                .andExpect(content().string(containsString("teams_request_payload_size_bytes_sum{")));
+    }
+}
@@ -0,0 +1,238 @@
+package com.matawan.teamservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.teamservice.dtos.request.PlayerRequest;
+import com.matawan.teamservice.dtos.request.TeamBudgetAdjustmentRequest;
+import com.matawan.teamservice.dtos.request.TeamRequest;
+import com.matawan.teamservice.dtos.response.TeamEvent;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.entity.TeamEventType;
+import com.matawan.teamservice.repository.TeamOutboxRepository;
+import com.matawan.teamservice.repository.TeamRepository;
+import com.matawan.teamservice.service.TeamEventSink;
+import com.matawan.teamservice.service.TeamOutboxService;
+import com.matawan.teamservice.service.TeamService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "teamservice.outbox.batch-size=2",
+        "teamservice.outbox.file-sink.path=" + TeamsOutboxIntegrationTest.EVENTS_FILE
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TeamsOutboxIntegrationTest {
+
+    static final String EVENTS_FILE = "target/outbox-test/team-events.ndjson";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamOutboxRepository teamOutboxRepository;
+
+    @Autowired
+    private TeamOutboxService teamOutboxService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RecordingTeamEventSink sink;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        teamRepository.deleteAll();
+        teamOutboxRepository.deleteAll();
+        Files.deleteIfExists(Path.of(EVENTS_FILE));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        teamRepository.deleteAll();
+        teamOutboxRepository.deleteAll();
+    }
+
+    @Test
+    public void testChangesArePublishedInOrderInBatches() throws Exception {
+        TeamResponse created = create("Nice", "NC");
+        update(created.getId(), "Nice Updated");
+        update(created.getId(), "Nice Updated Again");
+        mockMvc.perform(MockMvcRequestBuilders.delete("/teams/{id}", created.getId()))
+                .andExpect(status().isNoContent());
+
+        assertThat(teamOutboxService.relay()).isEqualTo(4);
+
+        assertThat(sink.batches).extracting(List::size).containsExactly(2, 2);
+        List<TeamEvent> events = sink.events();
+        assertThat(events).extracting(TeamEvent::getTeamId).containsOnly(created.getId());
+        assertThat(events).extracting(TeamEvent::getType)
+                .containsExactly(TeamEventType.CREATED, TeamEventType.UPDATED, TeamEventType.UPDATED, TeamEventType.DELETED);
+        assertThat(events).extracting(TeamEvent::getVersion).containsExactly(0L, 1L, 2L, null);
+        assertThat(events).extracting(TeamEvent::getEventId).isSorted().doesNotHaveDuplicates();
+        assertThat(events.get(2).getTeam().getName()).isEqualTo("Nice Updated Again");
+        assertThat(events.get(2).getTeam().getPlayers()).singleElement()
+                .satisfies(player -> assertThat(player.getName()).isEqualTo("Messi"));
+        assertThat(events.get(3).getTeam()).isNull();
+        assertThat(teamOutboxRepository.count()).isZero();
+        assertThat(meterRegistry.get("teams.outbox.published").counter().count()).isEqualTo(4);
+
+        List<String> lines = Files.readAllLines(Path.of(EVENTS_FILE));
+        assertThat(lines).hasSize(4);
+        assertThat(objectMapper.readValue(lines.get(2), TeamEvent.class)).isEqualTo(events.get(2));
+        assertThat(lines.get(3)).doesNotContain("\"team\"");
+    }
+
+    @Test
+    public void testRolledBackChangeRecordsNoEvent() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            teamService.saveTeam(team("Nice", "NC"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(teamRepository.count()).isZero();
+        assertThat(teamOutboxRepository.count()).isZero();
+        assertThat(teamOutboxService.relay()).isZero();
+    }
+
+    @Test
+    public void testFailedBatchIsPublishedAgain() throws Exception {
+        create("Nice", "NC");
+        create("Lyon", "OL");
+        create("Lens", "RCL");
+        sink.failures = 1;
+
+        assertThat(teamOutboxService.relay()).isZero();
+        assertThat(teamOutboxRepository.count()).isEqualTo(3);
+
+        assertThat(teamOutboxService.relay()).isEqualTo(3);
+        assertThat(sink.events()).extracting(event -> event.getTeam().getName()).containsExactly("Nice", "Lyon", "Lens");
+        assertThat(teamOutboxRepository.count()).isZero();
+        assertThat(meterRegistry.get("teams.outbox.failures").counter().count()).isEqualTo(1);
+        // delivery is at least once: the file may have received the failed batch already
+        List<TeamEvent> written = new ArrayList<>();
+        for (String line : Files.readAllLines(Path.of(EVENTS_FILE))) {
+            written.add(objectMapper.readValue(line, TeamEvent.class));
+        }
+        assertThat(written).extracting(TeamEvent::getEventId).containsAll(sink.events().stream().map(TeamEvent::getEventId).toList());
+    }
+
+    @Test
+    public void testBulkChangesArePublished() throws Exception {
+        TeamResponse nice = create("Nice", "NC");
+        TeamResponse lyon = create("Lyon", "OL");
+        teamOutboxService.relay();
+        sink.batches.clear();
+
+        mockMvc.perform(MockMvcRequestBuilders.patch("/teams/budget")
+                        .param("ids", String.valueOf(nice.getId()), String.valueOf(lyon.getId()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TeamBudgetAdjustmentRequest.builder().percent(50.0).build())))
+                .andExpect(status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.delete("/teams").param("ids", String.valueOf(lyon.getId())))
+                .andExpect(status().isOk());
+
+        assertThat(teamOutboxService.relay()).isEqualTo(3);
+        List<TeamEvent> events = sink.events();
+        assertThat(events).extracting(TeamEvent::getType)
+                .containsExactly(TeamEventType.UPDATED, TeamEventType.UPDATED, TeamEventType.DELETED);
+        assertThat(events.getFirst().getTeam().getBudget()).isEqualTo(1500000.0);
+        assertThat(events.getFirst().getVersion()).isEqualTo(1L);
+        assertThat(events.getLast().getTeamId()).isEqualTo(lyon.getId());
+    }
+
+    private TeamResponse create(String name, String acronym) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.post("/teams")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(team(name, acronym))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(mvcResult.getResponse().getContentAsString(), TeamResponse.class);
+    }
+
+    private void update(Long id, String name) throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.put("/teams/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(team(name, "NC"))))
+                .andExpect(status().isOk());
+    }
+
+    private static TeamRequest team(String name, String acronym) {
+        return TeamRequest.builder()
+                .name(name)
+                .acronym(acronym)
+                .budget(1000000.0)
+                .players(List.of(PlayerRequest.builder().name("Messi").position("Forward").build()))
+                .build();
+    }
+
+    /**
+     * Keeps the published batches in memory, and fails the next batches on demand.
+     */
+    static class RecordingTeamEventSink implements TeamEventSink {
+
+        final List<List<TeamEvent>> batches = new CopyOnWriteArrayList<>();
+
+        volatile int failures;
+
+        @Override
+        public void publish(List<TeamEvent> events) {
+            if (failures > 0) {
+                failures--;
+                throw new IllegalStateException("Sink unavailable");
+            }
+            batches.add(events);
+        }
+
+        List<TeamEvent> events() {
+            return batches.stream().flatMap(List::stream).toList();
+        }
+    }
+
+    @TestConfiguration
+    static class SinkConfig {
+
+        @Bean
+        RecordingTeamEventSink recordingTeamEventSink() {
+            return new RecordingTeamEventSink();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.matawan.teamservice.integration;
+
+import com.matawan.teamservice.dtos.request.PlayerRequest;
+import com.matawan.teamservice.dtos.request.TeamRequest;
+import com.matawan.teamservice.repository.TeamOutboxRepository;
+import com.matawan.teamservice.repository.TeamRepository;
+import com.matawan.teamservice.service.TeamOutboxService;
+import com.matawan.teamservice.service.TeamService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class TeamsOutboxWithoutSinkIntegrationTest {
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamOutboxRepository teamOutboxRepository;
+
+    @Autowired
+    private TeamOutboxService teamOutboxService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        teamRepository.deleteAll();
+        teamOutboxRepository.deleteAll();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        teamRepository.deleteAll();
+        teamOutboxRepository.deleteAll();
+    }
+
+    @Test
+    public void testEventsAreKeptWithoutSink() {
+        teamService.saveTeam(TeamRequest.builder()
+                .name("Nice")
+                .acronym("NC")
+                .budget(1000000.0)
+                .players(List.of(PlayerRequest.builder().name("Messi").position("Forward").build()))
+                .build());
+
+        assertThat(teamOutboxService.relay()).isZero();
+        assertThat(teamOutboxRepository.count()).isEqualTo(1);
+        assertThat(meterRegistry.get("teams.outbox.published").counter().count()).isZero();
+    }
+}
@@ -6,6 +6,10 @@ import com.matawan.teamservice.entity.Player;
 import com.matawan.teamservice.entity.Team;
 import com.matawan.teamservice.integration.deserialiser.PageResponse;
 import com.matawan.teamservice.repository.TeamRepository;
+import com.matawan.teamservice.service.TeamSummaryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,6 +27,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -40,6 +45,12 @@ public class TeamsPaginatedGetAllIntegrationTest {
     @Autowired
     private TeamRepository teamRepository;
 
+    @Autowired
+    private TeamSummaryService teamSummaryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @BeforeEach
     public void setup() {
         teamRepository.deleteAll();
@@ -67,6 +78,7 @@ public class TeamsPaginatedGetAllIntegrationTest {
         }
 
         teamRepository.saveAll(teams);
+        teamSummaryService.rebuild();
     }
 
     @AfterEach
@@ -100,5 +112,39 @@ public class TeamsPaginatedGetAllIntegrationTest {
         assertThat(firstTeam.getPlayers().get(0).getName()).isEqualTo("Player 1-1");
     }
 
+    @Test
+    public void testGetTeamsUsesFixedNumberOfStatementsPerPage() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (String size : List.of("2", "5")) {
+            statistics.clear();
+
+            MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/teams")
+                            .param("page", "0")
+                            .param("size", size)
+                            .param("sort", "name,desc")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            PageResponse<TeamResponse> pageResponse = objectMapper.readValue(
+                    mvcResult.getResponse().getContentAsString(),
+                    new com.fasterxml.jackson.core.type.TypeReference<>() {}
+            );
+
+            // page of summaries and count, whatever the page size
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+            assertThat(pageResponse.getContent().size()).isEqualTo(Integer.parseInt(size));
+            assertThat(pageResponse.getContent().get(0).getName()).isEqualTo("Team 6");
+            assertThat(pageResponse.getContent().get(1).getName()).isEqualTo("Team 5");
+            assertThat(pageResponse.getContent().get(0).getPlayers().size()).isEqualTo(2);
+        }
+    }
 
+    @Test
+    public void testUnknownSortIsRejected() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams").param("sort", "players"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Teams cannot be sorted by players"));
+    }
 }
@@ -0,0 +1,168 @@
+package com.matawan.teamservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.teamservice.dtos.request.PlayerRequest;
+import com.matawan.teamservice.dtos.request.TeamRequest;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.entity.Player;
+import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.repository.TeamRepository;
+import com.matawan.teamservice.service.TeamSearchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TeamsSearchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamSearchService teamSearchService;
+
+    private Long niceId;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        teamRepository.deleteAll();
+        niceId = createTeam(team("OGC Nice", "OGCN", player("Jérémie Boga", "Forward"), player("Marcin Bułka", "Goalkeeper")));
+        createTeam(team("Olympique de Marseille", "OM", player("Pierre-Emerick Aubameyang", "Forward")));
+        createTeam(team("Stade Brestois", "SB29", player("Romain Del Castillo", "Midfielder"), player("Marc Bizot", "Goalkeeper")));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    public void testSearchByPartialPlayerName() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/search").param("q", "boga"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].acronym").value("OGCN"))
+                .andExpect(jsonPath("$.content[0].matchedPlayers[*].name", contains("Jérémie Boga")));
+        // inside a word, without accents
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/search").param("q", "EMERI"))
+                .andExpect(jsonPath("$.content[*].acronym", contains("OM")));
+    }
+
+    @Test
+    public void testEveryWordMustMatchAndHitsAreRanked() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/search").param("q", "goalkeeper marc"))
+                .andExpect(jsonPath("$.totalElements").value(2))
+                // a whole first name outweighs the start of one
+                .andExpect(jsonPath("$.content[*].acronym", contains("SB29", "OGCN")));
+        // the team name outweighs its players
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/search").param("q", "ma"))
+                .andExpect(jsonPath("$.content[0].acronym").value("OM"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/search").param("q", "goalkeeper aubameyang"))
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    @Test
+    public void testSearchIsPaginated() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/search").param("q", "o").param("size", "2").param("page", "1"))
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.totalPages").value(2))
+                .andExpect(jsonPath("$.content.length()").value(1));
+    }
+
+    @Test
+    public void testWritesKeepTheIndexInSync() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.put("/teams/{id}", niceId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(team("OGC Nice", "OGCN", player("Evann Guessand", "Forward")))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/search").param("q", "boga"))
+                .andExpect(jsonPath("$.totalElements").value(0));
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/search").param("q", "guess"))
+                .andExpect(jsonPath("$.content[0].id").value(niceId));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/teams/{id}", niceId))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/search").param("q", "nice"))
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    @Test
+    public void testRejectedUpdateIsNotIndexed() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.put("/teams/{id}", niceId)
+                        .header(HttpHeaders.IF_MATCH, "\"42\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(team("Renamed", "RN"))))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/search").param("q", "renamed"))
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    @Test
+    public void testRebuildIndexesTeamsWrittenByOtherMeans() throws Exception {
+        List<Player> players = new ArrayList<>();
+        Team lens = Team.builder().name("RC Lens").acronym("RCL").budget(1000000).players(players).build();
+        players.add(Player.builder().name("Brice Samba").position("Goalkeeper").team(lens).build());
+        teamRepository.save(lens);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/search").param("q", "samba"))
+                .andExpect(jsonPath("$.totalElements").value(0));
+        assertThat(teamSearchService.rebuild()).isEqualTo(4);
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/search").param("q", "samba"))
+                .andExpect(jsonPath("$.content[*].acronym", contains("RCL")));
+    }
+
+    @Test
+    public void testBlankQueryFindsNothing() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/search").param("q", " - "))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(0));
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/search"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Long createTeam(TeamRequest teamRequest) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.post("/teams")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(teamRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(mvcResult.getResponse().getContentAsString(), TeamResponse.class).getId();
+    }
+
+    private static TeamRequest team(String name, String acronym, PlayerRequest... players) {
+        return TeamRequest.builder().name(name).acronym(acronym).budget(1000000.0).players(List.of(players)).build();
+    }
+
+    private static PlayerRequest player(String name, String position) {
+        return PlayerRequest.builder().name(name).position(position).build();
+    }
+}
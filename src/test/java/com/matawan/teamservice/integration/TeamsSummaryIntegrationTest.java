@@ -0,0 +1,175 @@
+package com.matawan.teamservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.teamservice.dtos.request.PlayerRequest;
+import com.matawan.teamservice.dtos.request.TeamRequest;
+import com.matawan.teamservice.dtos.response.PlayerResponse;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.entity.TeamSummary;
+import com.matawan.teamservice.repository.TeamRepository;
+import com.matawan.teamservice.repository.TeamSummaryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TeamsSummaryIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamSummaryRepository teamSummaryRepository;
+
+    @BeforeEach
+    public void setup() {
+        teamRepository.deleteAll();
+        teamSummaryRepository.deleteAll();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        teamRepository.deleteAll();
+        teamSummaryRepository.deleteAll();
+    }
+
+    @Test
+    public void testWritesMaintainSummary() throws Exception {
+        TeamResponse team = save(teamRequest("Nice", "Midfielder", "Forward"));
+
+        TeamSummary summary = teamSummaryRepository.findById(team.getId()).orElseThrow();
+        assertThat(summary.getName()).isEqualTo("Nice");
+        assertThat(summary.getPlayerCount()).isEqualTo(2);
+        assertThat(summary.getVersion()).isZero();
+        assertThat(objectMapper.readValue(summary.getPlayers(), PlayerResponse[].class))
+                .extracting(PlayerResponse::getPosition)
+                .containsExactly("Midfielder", "Forward");
+
+        TeamRequest update = teamRequest("Nice Updated", "Goalkeeper");
+        mockMvc.perform(MockMvcRequestBuilders.put("/teams/{id}", team.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+
+        summary = teamSummaryRepository.findById(team.getId()).orElseThrow();
+        assertThat(summary.getName()).isEqualTo("Nice Updated");
+        assertThat(summary.getPlayerCount()).isEqualTo(1);
+        assertThat(summary.getVersion()).isEqualTo(1);
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Nice Updated"))
+                .andExpect(jsonPath("$.content[0].players.length()").value(1))
+                .andExpect(jsonPath("$.content[0].players[0].position").value("Goalkeeper"));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/teams/{id}", team.getId()))
+                .andExpect(status().isNoContent());
+
+        assertThat(teamSummaryRepository.count()).isZero();
+        checkSummaries().andExpect(jsonPath("$.consistent").value(true));
+    }
+
+    @Test
+    public void testListingMatchesTeams() throws Exception {
+        TeamResponse first = save(teamRequest("Nice", "Midfielder", "Forward"));
+        TeamResponse second = save(teamRequest("Lyon"));
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/teams").param("sort", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andReturn();
+
+        TeamResponse[] teams = objectMapper.treeToValue(
+                objectMapper.readTree(mvcResult.getResponse().getContentAsString()).get("content"), TeamResponse[].class);
+        assertThat(teams).usingRecursiveFieldByFieldElementComparatorIgnoringFields("version", "lastModified")
+                .containsExactly(second, first);
+    }
+
+    @Test
+    public void testCheckAndRebuildSummaries() throws Exception {
+        TeamResponse kept = save(teamRequest("Nice", "Midfielder"));
+        TeamResponse changed = save(teamRequest("Lyon", "Forward"));
+        TeamResponse deleted = save(teamRequest("Lens"));
+        // written without going through the team service
+        Team added = teamRepository.save(Team.builder()
+                .name("Brest")
+                .acronym("BR")
+                .budget(1000.0)
+                .players(List.of())
+                .build());
+        Team changedTeam = teamRepository.findById(changed.getId()).orElseThrow();
+        changedTeam.setName("Lyon Renamed");
+        teamRepository.save(changedTeam);
+        teamRepository.deleteById(deleted.getId());
+
+        checkSummaries()
+                .andExpect(jsonPath("$.teams").value(3))
+                .andExpect(jsonPath("$.missing").value(1))
+                .andExpect(jsonPath("$.stale").value(1))
+                .andExpect(jsonPath("$.orphaned").value(1))
+                .andExpect(jsonPath("$.consistent").value(false))
+                .andExpect(jsonPath("$.inconsistentIds.length()").value(3));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/actuator/teamsummaries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rebuilt").value(3));
+
+        checkSummaries().andExpect(jsonPath("$.consistent").value(true));
+        assertThat(teamSummaryRepository.findAll())
+                .extracting(TeamSummary::getName)
+                .containsExactlyInAnyOrder("Nice", "Lyon Renamed", "Brest");
+        assertThat(teamSummaryRepository.findById(added.getId())).isPresent();
+        assertThat(teamSummaryRepository.findById(kept.getId())).isPresent();
+    }
+
+    private ResultActions checkSummaries() throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.get("/actuator/teamsummaries"))
+                .andExpect(status().isOk());
+    }
+
+    private TeamResponse save(TeamRequest teamRequest) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.post("/teams")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(teamRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(mvcResult.getResponse().getContentAsString(), TeamResponse.class);
+    }
+
+    private static TeamRequest teamRequest(String name, String... positions) {
+        return TeamRequest.builder()
+                .name(name)
+                .acronym(name.substring(0, 2).toUpperCase())
+                .budget(1000.0)
+                .players(Arrays.stream(positions)
+                        .map(position -> PlayerRequest.builder().name(name + " " + position).position(position).build())
+                        .toList())
+                .build();
+    }
+}
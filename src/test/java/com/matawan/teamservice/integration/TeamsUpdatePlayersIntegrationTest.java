@@ -0,0 +1,166 @@
+package com.matawan.teamservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.teamservice.dtos.request.PlayerRequest;
+import com.matawan.teamservice.dtos.request.TeamRequest;
+import com.matawan.teamservice.dtos.response.PlayerResponse;
+import com.matawan.teamservice.dtos.response.TeamResponse;
+import com.matawan.teamservice.entity.Player;
+import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.repository.TeamRepository;
+import com.matawan.teamservice.service.TeamSummaryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TeamsUpdatePlayersIntegrationTest {
+
+    private static final int ROSTER_SIZE = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamSummaryService teamSummaryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Team team;
+
+    @BeforeEach
+    public void setup() {
+        teamRepository.deleteAll();
+        List<Player> players = new ArrayList<>();
+        Team newTeam = Team.builder()
+                .name("Nice")
+                .acronym("NC")
+                .players(players)
+                .budget(1000000.00)
+                .build();
+        for (int i = 1; i <= ROSTER_SIZE; i++) {
+            players.add(Player.builder().name("Player " + i).position("Midfielder").team(newTeam).build());
+        }
+        team = teamRepository.save(newTeam);
+        teamSummaryService.rebuild();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    public void testUpdateOnePlayerPositionIssuesOneUpdate() throws Exception {
+        List<PlayerRequest> players = currentRoster();
+        players.get(3).setPosition("Goalkeeper");
+
+        TeamResponse teamResponse = update(players);
+
+        // the player, the version of the team and its summary, and the outbox event
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(3);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+        assertThat(teamResponse.getPlayers()).hasSize(ROSTER_SIZE);
+        assertThat(teamResponse.getPlayers().get(3).getId()).isEqualTo(team.getPlayers().get(3).getId());
+        assertThat(teamResponse.getPlayers().get(3).getPosition()).isEqualTo("Goalkeeper");
+    }
+
+    @Test
+    public void testReplaceOnePlayerIssuesOneDeleteAndOneInsert() throws Exception {
+        List<PlayerRequest> players = currentRoster();
+        Long removedId = players.remove(0).getId();
+        players.add(PlayerRequest.builder().name("Newcomer").position("Forward").build());
+
+        TeamResponse teamResponse = update(players);
+
+        // the version of the team and its summary
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(2);
+        // the new player and the outbox event
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(2);
+        assertThat(statistics.getEntityDeleteCount()).isEqualTo(1);
+        assertThat(teamResponse.getPlayers()).hasSize(ROSTER_SIZE)
+                .extracting(PlayerResponse::getId).doesNotContain(removedId);
+        assertThat(teamResponse.getPlayers().getLast().getName()).isEqualTo("Newcomer");
+    }
+
+    @Test
+    public void testUnchangedRosterIssuesNoPlayerStatements() throws Exception {
+        update(currentRoster());
+
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+    }
+
+    @Test
+    public void testPlayersWithoutIdsReplaceRoster() throws Exception {
+        List<PlayerRequest> players = currentRoster();
+        players.forEach(player -> player.setId(null));
+
+        update(players);
+
+        // the new players and the outbox event
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROSTER_SIZE + 1);
+        assertThat(statistics.getEntityDeleteCount()).isEqualTo(ROSTER_SIZE);
+    }
+
+    private List<PlayerRequest> currentRoster() {
+        return team.getPlayers().stream()
+                .map(player -> PlayerRequest.builder()
+                        .id(player.getId())
+                        .name(player.getName())
+                        .position(player.getPosition())
+                        .build())
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private TeamResponse update(List<PlayerRequest> players) throws Exception {
+        TeamRequest teamRequest = TeamRequest.builder()
+                .name(team.getName())
+                .acronym(team.getAcronym())
+                .budget(team.getBudget())
+                .players(players)
+                .build();
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.put("/teams/{id}", team.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(teamRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(mvcResult.getResponse().getContentAsString(), TeamResponse.class);
+    }
+}
@@ -0,0 +1,68 @@
+package com.matawan.teamservice.unit;
+
+import com.matawan.teamservice.metrics.RequestMetricsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RequestMetricsFilterUnitTest {
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private RequestMetricsFilter requestMetricsFilter;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    public void setUp() {
+        request = new MockHttpServletRequest("GET", "/teams/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/teams/{id}");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    public void testCountsBodyWrittenToOutputStream() throws Exception {
+        byte[] body = "{\"name\":\"Nice\"}".getBytes(StandardCharsets.UTF_8);
+
+        requestMetricsFilter.doFilter(request, response, (req, res) -> res.getOutputStream().write(body));
+
+        assertEquals(body.length, responseBytes());
+        assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+    @Test
+    public void testCountsBodyWrittenToWriterInBytes() throws Exception {
+        String body = "{\"name\":\"Saint-Étienne\"}";
+
+        requestMetricsFilter.doFilter(request, response, (req, res) -> {
+            res.setCharacterEncoding("UTF-8");
+            res.getWriter().write(body);
+        });
+
+        assertEquals(body.getBytes(StandardCharsets.UTF_8).length, responseBytes());
+        assertEquals(body, response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private double responseBytes() {
+        return meterRegistry.get("teams.request.payload.size")
+                .tags("method", "GET", "uri", "/teams/{id}", "direction", "response")
+                .summary().totalAmount();
+    }
+}
@@ -3,15 +3,28 @@ package com.matawan.teamservice.unit;
 import com.matawan.teamservice.dtos.request.TeamRequest;
 import com.matawan.teamservice.dtos.response.TeamResponse;
 import com.matawan.teamservice.entity.Team;
+import com.matawan.teamservice.exception.TeamConflictException;
 import com.matawan.teamservice.exception.TeamNotFoundException;
+import com.matawan.teamservice.repository.TeamQueryRepository;
 import com.matawan.teamservice.repository.TeamRepository;
+import com.matawan.teamservice.service.TeamChangeFeed;
+import com.matawan.teamservice.service.TeamOutboxService;
+import com.matawan.teamservice.service.TeamSearchService;
 import com.matawan.teamservice.service.TeamService;
+import com.matawan.teamservice.service.TeamSummaryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -25,6 +38,30 @@ public class TeamServiceUnitTest {
     @Mock
     private TeamRepository teamRepository;
 
+    @Mock
+    private TeamQueryRepository teamQueryRepository;
+
+    @Mock
+    private TeamSummaryService teamSummaryService;
+
+    @Mock
+    private TeamSearchService teamSearchService;
+
+    @Mock
+    private TeamOutboxService teamOutboxService;
+
+    @Mock
+    private TeamChangeFeed teamChangeFeed;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private TeamService teamService;
 
@@ -34,6 +71,7 @@ public class TeamServiceUnitTest {
 
     @BeforeEach
     public void setUp() {
+        ReflectionTestUtils.setField(teamService, "updateMaxAttempts", 3);
 
         teamRequest = TeamRequest.builder()
                 .name("Nice")
@@ -63,6 +101,7 @@ public class TeamServiceUnitTest {
         assertEquals(1000000.00, teamResponse.getBudget());
 
         verify(teamRepository, times(1)).save(any(Team.class));
+        verify(teamOutboxService, times(1)).created(teamResponse);
     }
 
     @Test
@@ -85,11 +124,77 @@ public class TeamServiceUnitTest {
 
         verify(teamRepository, times(1)).findById(1L);
         verify(teamRepository, times(1)).save(any(Team.class));
+        verify(teamOutboxService, times(1)).updated(teamResponse);
+    }
+
+    @Test
+    public void testUpdateTeamRetriesConflictingUpdate() {
+        // each attempt reads the team afresh
+        Team reread = Team.builder().id(1L).name("Nice").acronym("NC").players(List.of()).budget(1000000.00).build();
+        when(teamRepository.findById(1L)).thenReturn(Optional.of(team)).thenReturn(Optional.of(reread));
+        when(teamRepository.save(any(Team.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new ObjectOptimisticLockingFailureException(Team.class, 1L)).doNothing().when(teamRepository).flush();
+
+        TeamResponse teamResponse = teamService.updateTeam(1L, TeamRequest.builder()
+                .name("Updated Team").acronym("UT").budget(2000000.00).players(List.of()).build());
+
+        assertEquals("Updated Team", teamResponse.getName());
+        verify(teamRepository, times(2)).findById(1L);
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+        verify(teamOutboxService, times(1)).updated(teamResponse);
+    }
+
+    @Test
+    public void testUpdateTeamGivesUpAfterMaxAttempts() {
+        when(teamRepository.findById(1L)).thenReturn(Optional.of(team));
+        when(teamRepository.save(any(Team.class))).thenReturn(team);
+        doThrow(new ObjectOptimisticLockingFailureException(Team.class, 1L)).when(teamRepository).flush();
+
+        TeamConflictException thrown = assertThrows(TeamConflictException.class, () -> teamService.updateTeam(1L,
+                TeamRequest.builder().name("Updated Team").acronym("UT").budget(2000000.00).players(List.of()).build()));
+
+        assertEquals("Team 1 was changed concurrently, retry the update", thrown.getMessage());
+        verify(teamRepository, times(3)).findById(1L);
+        verify(teamOutboxService, never()).updated(any());
+        assertEquals(2, meterRegistry.get("teams.update.conflicts").tag("outcome", "retried").counter().count());
+        assertEquals(1, meterRegistry.get("teams.update.conflicts").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    public void testDeleteTeam() {
+        when(teamRepository.deleteTeamsByIdIn(List.of(1L))).thenReturn(1);
+
+        teamService.deleteTeam(1L);
+
+        verify(teamRepository, times(1)).deletePlayersByTeamIdIn(List.of(1L));
+        verify(teamSummaryService, times(1)).delete(1L);
+        verify(teamOutboxService, times(1)).deleted(1L);
+        verify(teamSearchService, times(1)).remove(1L);
+        verify(teamRepository, never()).existsById(1L);
+        verify(teamRepository, never()).deleteById(1L);
+    }
+
+    @Test
+    public void testDeleteTeamNotFound() {
+        when(teamRepository.deleteTeamsByIdIn(List.of(1L))).thenReturn(0);
+
+        TeamNotFoundException thrown = assertThrows(TeamNotFoundException.class, () -> teamService.deleteTeam(1L));
+
+        assertEquals("Team not found by id: 1", thrown.getMessage());
+        verify(teamOutboxService, never()).deleted(1L);
+        verify(teamSearchService, never()).remove(1L);
     }
 
     @Test
     public void testGetTeam() {
-        when(teamRepository.findById(1L)).thenReturn(java.util.Optional.of(team));
+        when(teamQueryRepository.findTeamById(1L)).thenReturn(java.util.Optional.of(TeamResponse.builder()
+                .id(1L)
+                .name("Nice")
+                .acronym("NC")
+                .players(List.of())
+                .budget(1000000.00)
+                .build()));
 
         TeamResponse foundTeam = teamService.getTeamById(1L);
 
@@ -97,12 +202,13 @@ public class TeamServiceUnitTest {
         assertEquals("Nice", foundTeam.getName());
         assertEquals("NC", foundTeam.getAcronym());
 
-        verify(teamRepository, times(1)).findById(1L);
+        verify(teamQueryRepository, times(1)).findTeamById(1L);
+        verify(teamRepository, never()).findById(1L);
     }
 
     @Test
     public void testGetTeamNotFound() {
-        when(teamRepository.findById(1L)).thenReturn(java.util.Optional.empty());
+        when(teamQueryRepository.findTeamById(1L)).thenReturn(java.util.Optional.empty());
 
         TeamNotFoundException thrown = assertThrows(TeamNotFoundException.class, () -> {
             teamService.getTeamById(1L);
@@ -110,6 +216,6 @@ public class TeamServiceUnitTest {
 
         assertEquals("Team not found by id: 1", thrown.getMessage());
 
-        verify(teamRepository, times(1)).findById(1L);
+        verify(teamQueryRepository, times(1)).findTeamById(1L);
     }
 }